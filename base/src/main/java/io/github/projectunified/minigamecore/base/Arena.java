@@ -1,16 +1,43 @@
 package io.github.projectunified.minigamecore.base;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * The arena. The unit that handles the game
+ * The arena. The unit that handles the game.
+ * The commands from other threads are submitted to its {@link ArenaMailbox} and run on the thread that ticks it, at the start of its next tick.
  */
-public class Arena extends FeatureUnit implements Runnable {
+public class Arena extends FeatureUnit implements Runnable, Executor {
+    private static final ArenaStateListener[] EMPTY_LISTENERS = new ArenaStateListener[0];
+    private static final TickableFeature[] EMPTY_TICKABLES = new TickableFeature[0];
+    private static volatile ArenaMonitor globalMonitor;
     private final AtomicReference<Class<? extends GameState>> currentState = new AtomicReference<>();
     private final AtomicReference<Class<? extends GameState>> nextState = new AtomicReference<>();
+    private final Object suspendLock = new Object();
+    private final TickClock tickClock = new TickClock();
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private volatile ArenaMailbox mailbox;
+    private volatile boolean suspended = false;
+    private volatile boolean wakePending = false;
+    private volatile boolean wakeDeferred = false;
+    private volatile Runnable suspendCallback;
+    private volatile GameState currentStateInstance;
+    private volatile ResolvedState resolvedNextState;
+    private volatile ArenaMonitor monitor;
+    private volatile ArenaStateListener[] stateListeners = EMPTY_LISTENERS;
+    private volatile TickableFeature[] tickableFeatures = EMPTY_TICKABLES;
+    private ArenaMonitor customMonitor;
+    private ArenaMetrics metrics;
+    private ArenaMonitor combinedGlobal;
+    private ArenaMonitor combinedLocal;
+    private ArenaMonitor combinedMonitor;
 
     /**
      * Create a new arena
@@ -57,6 +84,49 @@ public class Arena extends FeatureUnit implements Runnable {
         // Override this method to do something
     }
 
+    /**
+     * Reset the arena
+     *
+     * @see #reset()
+     */
+    protected void resetArena() {
+        // Override this method to do something
+    }
+
+    /**
+     * Stop ticking the arena, as it is suspended.
+     * This is usually used to remove the arena from the scheduler.
+     *
+     * @see #suspend()
+     */
+    protected void suspendArena() {
+        // Override this method to do something
+    }
+
+    /**
+     * Start ticking the arena again, as it is woken.
+     * This is usually used to add the arena back to the scheduler.
+     * If the arena is woken while its last tick is still running, this is called after that tick returns,
+     * so the arena is never ticked by two threads at the same time.
+     *
+     * @see #wake()
+     */
+    protected void wakeArena() {
+        // Override this method to do something
+    }
+
+    /**
+     * Adjust the arena to the new state, after the state is started.
+     * This is usually used to reschedule the arena with the preferred period of the state.
+     * It is not called if the arena is suspended.
+     *
+     * @param state the new state
+     * @see GameState#getPeriod(Arena)
+     */
+    protected void changeStateArena(GameState state) {
+        // Override this method to do something
+    }
+
     /**
      * This is called when the state is changed.
      * This is usually used to do actions on state changed.
@@ -93,6 +163,13 @@ public class Arena extends FeatureUnit implements Runnable {
     @Override
     public final void init() {
         super.init();
+        List<TickableFeature> tickables = new ArrayList<>();
+        for (Feature feature : getLoadedFeatures()) {
+            if (feature instanceof TickableFeature) {
+                tickables.add((TickableFeature) feature);
+            }
+        }
+        tickableFeatures = tickables.isEmpty() ? EMPTY_TICKABLES : tickables.toArray(EMPTY_TICKABLES);
         initArena();
     }
 
@@ -102,27 +179,517 @@ public class Arena extends FeatureUnit implements Runnable {
         postInitArena();
     }
 
+    /**
+     * Clear the arena.
+     * The arena has no current and next state afterward, so it starts without a state if it is initialized again.
+     */
     @Override
     public final void clear() {
+        synchronized (suspendLock) {
+            suspended = false;
+            wakePending = false;
+            wakeDeferred = false;
+            suspendCallback = null;
+        }
         clearArena();
         super.clear();
+        ArenaMailbox currentMailbox = mailbox;
+        if (currentMailbox != null) {
+            currentMailbox.clear();
+        }
+        tickableFeatures = EMPTY_TICKABLES;
+        currentState.set(null);
+        nextState.set(null);
+        currentStateInstance = null;
+        resolvedNextState = null;
+    }
+
+    /**
+     * Get the monitor that observes the ticks of all arenas
+     *
+     * @return the monitor, or null if there is no monitor
+     */
+    public static ArenaMonitor getGlobalMonitor() {
+        return globalMonitor;
+    }
+
+    /**
+     * Set the monitor to observe the ticks of all arenas.
+     * It is called before the monitor of the arena when a phase begins, and after it when a phase ends.
+     *
+     * @param monitor the monitor, or null to remove the monitor
+     * @see #setMonitor(ArenaMonitor)
+     */
+    public static void setGlobalMonitor(ArenaMonitor monitor) {
+        globalMonitor = monitor;
+    }
+
+    /**
+     * Reset the arena to its initial condition, so it can host a new game without being created and initialized again.
+     * The game states and the features are reset, the arena has no current and next state,
+     * the commands in the mailbox are discarded, and the arena is woken if it is suspended.
+     * The arena keeps being ticked, so this should be called on the thread that ticks the arena, or when the arena is not ticked.
+     *
+     * @see FeatureUnit#reset()
+     */
+    @Override
+    public final void reset() {
+        currentState.set(null);
+        nextState.set(null);
+        currentStateInstance = null;
+        resolvedNextState = null;
+        ArenaMailbox currentMailbox = mailbox;
+        if (currentMailbox != null) {
+            currentMailbox.clear();
+        }
+        super.reset();
+        resetArena();
+        // Woken after the reset, so a suspended arena is not ticked before it is fully reset
+        synchronized (suspendLock) {
+            wakePending = false;
+            if (suspended) {
+                resume();
+            }
+        }
     }
 
+    /**
+     * Tick the arena.
+     * If the arena is being ticked by another thread, it returns without ticking, so the ticks never overlap.
+     * A suspended arena is not ticked either, as it has nothing to do until it is woken.
+     */
     @Override
     public final void run() {
-        Optional<GameState> currentStateOptional = getCurrentStateInstance();
-        Optional<GameState> nextStateOptional = getNextStateInstance();
-        if (nextStateOptional.isPresent()) {
-            GameState nextStateInstance = nextStateOptional.get();
-            if (callStateChanged(currentStateOptional.orElse(null), nextStateInstance)) {
-                currentState.set(nextStateInstance.getClass());
-                nextState.set(null);
-                currentStateOptional.ifPresent(gameState -> gameState.end(this));
-                nextStateInstance.start(this);
+        if (!ticking.compareAndSet(false, true)) return;
+        try {
+            if (suspended) return;
+            ArenaMonitor currentMonitor = resolveMonitor();
+            tickClock.beginTick();
+            try {
+                if (currentMonitor == null) {
+                    tick(null);
+                    return;
+                }
+                currentMonitor.begin(this, ArenaPhase.TICK, null);
+                try {
+                    tick(currentMonitor);
+                } finally {
+                    currentMonitor.end(this, ArenaPhase.TICK, null);
+                }
+            } finally {
+                tickClock.endTick();
+            }
+        } finally {
+            endRun();
+        }
+    }
+
+    private void endRun() {
+        ticking.set(false);
+        if (!wakeDeferred && suspendCallback == null) return;
+        Runnable callback;
+        synchronized (suspendLock) {
+            if (wakeDeferred) {
+                wakeDeferred = false;
+                if (!suspended) {
+                    wakeArena();
+                }
+            }
+            callback = suspendCallback;
+            suspendCallback = null;
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void resume() {
+        // Called with the suspend lock held. The ticking is started again at the end of the running tick, if there is one
+        suspended = false;
+        wakePending = false;
+        // Set before reading the tick flag, so either this call or the end of the running tick sees the other
+        wakeDeferred = true;
+        if (ticking.get()) return;
+        wakeDeferred = false;
+        wakeArena();
+    }
+
+    /**
+     * Get the clock of the arena, which is sampled once at the start of each tick.
+     * Use it for the time that the features and the states read during the tick, such as the end of a timer.
+     * Set its source to a {@link ManualClock} to control the time of the arena in tests.
+     *
+     * @return the clock
+     */
+    public TickClock getTickClock() {
+        return tickClock;
+    }
+
+    private ArenaMonitor resolveMonitor() {
+        ArenaMonitor local = monitor;
+        ArenaMonitor global = globalMonitor;
+        if (global == null) {
+            return local;
+        }
+        if (local == null) {
+            return global;
+        }
+        if (combinedGlobal != global || combinedLocal != local) {
+            combinedMonitor = ArenaMonitor.of(global, local);
+            combinedGlobal = global;
+            combinedLocal = local;
+        }
+        return combinedMonitor;
+    }
+
+    /**
+     * Get the capacity of the mailbox, which is read when the mailbox is created.
+     * Default is 1024
+     *
+     * @return the capacity
+     */
+    protected int getMailboxCapacity() {
+        return 1024;
+    }
+
+    /**
+     * Get the maximum number of commands that are run from the mailbox in a tick.
+     * The rest of the commands are run in the next ticks.
+     * Default is 256
+     *
+     * @return the batch size
+     */
+    protected int getMailboxBatchSize() {
+        return 256;
+    }
+
+    /**
+     * Get the mailbox of the commands, to check its depth and its rejected commands
+     *
+     * @return the mailbox
+     */
+    public ArenaMailbox getMailbox() {
+        ArenaMailbox currentMailbox = mailbox;
+        if (currentMailbox == null) {
+            synchronized (suspendLock) {
+                currentMailbox = mailbox;
+                if (currentMailbox == null) {
+                    currentMailbox = new ArenaMailbox(getMailboxCapacity());
+                    mailbox = currentMailbox;
+                }
+            }
+        }
+        return currentMailbox;
+    }
+
+    /**
+     * Submit the command to the mailbox of the arena, which is run on the thread that ticks the arena, at the start of its next tick.
+     * The arena is woken if it is suspended.
+     * The commands that are not run yet are discarded when the arena is cleared.
+     *
+     * @param command the command
+     * @return true if the command is submitted, or false if the mailbox is full
+     */
+    public boolean submit(Runnable command) {
+        if (!getMailbox().offer(command)) return false;
+        wake();
+        return true;
+    }
+
+    /**
+     * Run the task on the thread that ticks the arena, at the start of its next tick.
+     * The arena is woken if it is suspended.
+     *
+     * @param task the task
+     * @throws RejectedExecutionException if the mailbox is full
+     * @see #submit(Runnable)
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!submit(task)) {
+            throw new RejectedExecutionException("The mailbox of the arena is full");
+        }
+    }
+
+    private void tick(ArenaMonitor currentMonitor) {
+        ArenaMailbox currentMailbox = mailbox;
+        if (currentMailbox != null && !currentMailbox.isEmpty()) {
+            currentMailbox.drain(getMailboxBatchSize());
+        }
+        TickableFeature[] tickables = tickableFeatures;
+        for (TickableFeature tickable : tickables) {
+            tickable.tick(this);
+        }
+        GameState current = resolveCurrentStateInstance();
+        int maxTransitions = getMaxTransitionsPerTick();
+        int transitions = 0;
+        Class<? extends GameState> nextClass;
+        while (transitions < maxTransitions && (nextClass = nextState.get()) != null) {
+            GameState next = resolveNextStateInstance(nextClass);
+            if (next == null || !callPhase(currentMonitor, ArenaPhase.STATE_CHANGE, current, next)) break;
+            Class<? extends GameState> oldClass = currentState.getAndSet(next.getClass());
+            // Only clear the applied request, so a request that arrives in the meantime is kept for the next transition.
+            // A request of the same class that arrives in the meantime cannot be told apart, and is coalesced with this transition.
+            nextState.compareAndSet(nextClass, null);
+            currentStateInstance = next;
+            resolvedNextState = null;
+            ArenaStateListener[] listeners = stateListeners;
+            for (ArenaStateListener listener : listeners) {
+                listener.onStateChanged(this, oldClass, next.getClass());
+            }
+            if (current != null) {
+                callPhase(currentMonitor, ArenaPhase.STATE_END, current, null);
+            }
+            callPhase(currentMonitor, ArenaPhase.STATE_START, next, null);
+            synchronized (suspendLock) {
+                if (!suspended) {
+                    changeStateArena(next);
+                }
+            }
+            current = next;
+            transitions++;
+        }
+        if (current == null) return;
+        if (transitions == 0) {
+            callPhase(currentMonitor, ArenaPhase.STATE_UPDATE, current, null);
+        }
+        suspendIfIdle(current);
+    }
+
+    private void suspendIfIdle(GameState state) {
+        if (!state.isIdle(this) || nextState.get() != null) return;
+        ArenaMailbox currentMailbox = mailbox;
+        if (currentMailbox != null && !currentMailbox.isEmpty()) return;
+        TickableFeature[] tickables = tickableFeatures;
+        for (TickableFeature tickable : tickables) {
+            if (!tickable.isIdle(this)) return;
+        }
+        suspend();
+    }
+
+    /**
+     * Suspend the arena, so it is not ticked until {@link #wake()} is called.
+     * This is done automatically when the current state is idle.
+     * The arena is woken right away if it has the next state.
+     *
+     * @see GameState#isIdle(Arena)
+     * @see #suspendArena()
+     */
+    public void suspend() {
+        synchronized (suspendLock) {
+            if (suspended) return;
+            // Skip if the arena is woken while it is running, so the wake is not lost
+            if (wakePending) {
+                wakePending = false;
+                return;
+            }
+            suspended = true;
+            suspendArena();
+        }
+        // Wake the arena if the next state is set while it is being suspended
+        if (nextState.get() != null) {
+            wake();
+        }
+    }
+
+    /**
+     * Suspend the arena right away, even if it is woken while it is running, and run the callback once the arena is no longer ticked.
+     * If the arena is being ticked, the callback is run by the ticking thread after the tick returns, otherwise it is run by the current thread.
+     * The arena is not ticked until {@link #wake()} is called, so the callback can hand the arena over to another thread,
+     * for example to keep it aside until it is reused.
+     *
+     * @param callback the callback
+     * @see #suspendArena()
+     */
+    public void suspend(Runnable callback) {
+        if (callback == null) {
+            throw new NullPointerException("The callback cannot be null");
+        }
+        Runnable pendingCallback;
+        synchronized (suspendLock) {
+            wakePending = false;
+            if (!suspended) {
+                suspended = true;
+                wakeDeferred = false;
+                suspendArena();
+            }
+            Runnable previous = suspendCallback;
+            suspendCallback = previous == null ? callback : () -> {
+                previous.run();
+                callback.run();
+            };
+            // Set before reading the tick flag, so either this call or the end of the running tick runs the callback
+            if (ticking.get()) return;
+            pendingCallback = suspendCallback;
+            suspendCallback = null;
+        }
+        pendingCallback.run();
+    }
+
+    /**
+     * Wake the arena, so it is ticked again.
+     * This is called by {@link #setNextState(Class)}, and can be called by anything that needs the arena to be ticked, such as a timer.
+     * If the arena is not suspended, its next suspension is skipped, so the arena is ticked at least once after this call.
+     *
+     * @see #wakeArena()
+     */
+    public void wake() {
+        wakePending = true;
+        if (!suspended) return;
+        synchronized (suspendLock) {
+            if (!suspended) return;
+            resume();
+        }
+    }
+
+    /**
+     * Check if the arena is suspended
+     *
+     * @return true if it is
+     * @see #suspend()
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    private boolean callPhase(ArenaMonitor currentMonitor, ArenaPhase phase, GameState state, GameState newState) {
+        GameState monitoredState = phase == ArenaPhase.STATE_CHANGE ? newState : state;
+        if (currentMonitor != null) {
+            currentMonitor.begin(this, phase, monitoredState);
+        }
+        try {
+            switch (phase) {
+                case STATE_CHANGE:
+                    return callStateChanged(state, newState);
+                case STATE_START:
+                    state.start(this);
+                    return true;
+                case STATE_END:
+                    state.end(this);
+                    return true;
+                default:
+                    state.update(this);
+                    return true;
+            }
+        } finally {
+            if (currentMonitor != null) {
+                currentMonitor.end(this, phase, monitoredState);
+            }
+        }
+    }
+
+    private GameState resolveCurrentStateInstance() {
+        Class<? extends GameState> currentClass = currentState.get();
+        if (currentClass == null) {
+            return null;
+        }
+        GameState instance = currentStateInstance;
+        if (instance == null || instance.getClass() != currentClass) {
+            instance = getGameState(currentClass);
+            currentStateInstance = instance;
+        }
+        return instance;
+    }
+
+    private GameState resolveNextStateInstance(Class<? extends GameState> nextClass) {
+        ResolvedState resolved = resolvedNextState;
+        if (resolved == null || resolved.stateClass != nextClass) {
+            resolved = new ResolvedState(nextClass, getGameState(nextClass));
+            resolvedNextState = resolved;
+        }
+        return resolved.instance;
+    }
+
+    /**
+     * Get the monitor of the arena
+     *
+     * @return the monitor, or null if there is no monitor
+     */
+    public synchronized ArenaMonitor getMonitor() {
+        return customMonitor;
+    }
+
+    /**
+     * Set the monitor to observe the ticks of the arena.
+     * When there is no monitor and the metrics are disabled, the tick does not measure anything.
+     *
+     * @param monitor the monitor, or null to remove the monitor
+     */
+    public synchronized void setMonitor(ArenaMonitor monitor) {
+        this.customMonitor = monitor;
+        updateMonitor();
+    }
+
+    /**
+     * Enable the metrics of the arena, if they are not enabled yet
+     *
+     * @return the metrics
+     */
+    public synchronized ArenaMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new ArenaMetrics();
+            updateMonitor();
+        }
+        return metrics;
+    }
+
+    /**
+     * Disable the metrics of the arena and discard the recorded latencies
+     */
+    public synchronized void disableMetrics() {
+        metrics = null;
+        updateMonitor();
+    }
+
+    /**
+     * Get the metrics of the arena
+     *
+     * @return the metrics, or empty if the metrics are disabled
+     * @see #enableMetrics()
+     */
+    public synchronized Optional<ArenaMetrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    private void updateMonitor() {
+        if (customMonitor == null) {
+            monitor = metrics;
+        } else if (metrics == null) {
+            monitor = customMonitor;
+        } else {
+            monitor = ArenaMonitor.of(customMonitor, metrics);
+        }
+    }
+
+    /**
+     * Add the listener to be notified when the state of the arena is changed
+     *
+     * @param listener the listener
+     */
+    public synchronized void addStateListener(ArenaStateListener listener) {
+        ArenaStateListener[] listeners = stateListeners;
+        ArenaStateListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        stateListeners = newListeners;
+    }
+
+    /**
+     * Remove the listener
+     *
+     * @param listener the listener
+     * @see #addStateListener(ArenaStateListener)
+     */
+    public synchronized void removeStateListener(ArenaStateListener listener) {
+        ArenaStateListener[] listeners = stateListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ArenaStateListener[] newListeners = new ArenaStateListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                stateListeners = newListeners;
                 return;
             }
         }
-        currentStateOptional.ifPresent(gameState -> gameState.update(this));
     }
 
     /**
@@ -153,12 +720,84 @@ public class Arena extends FeatureUnit implements Runnable {
     }
 
     /**
-     * Set the next game state of the arena.
+     * Set the next game state of the arena, replacing the pending one regardless of {@link #getTransitionPolicy()}.
+     * The arena is woken if it is suspended.
      *
-     * @param stateClass the class of the game state
+     * @param stateClass the class of the game state, or null to cancel the pending one
+     * @see #requestNextState(Class)
      */
     public void setNextState(Class<? extends GameState> stateClass) {
-        this.nextState.lazySet(stateClass);
+        // Not a lazy set, so a suspending arena either sees the next state or is seen as suspended
+        nextState.set(stateClass);
+        if (stateClass != null) {
+            wake();
+        }
+    }
+
+    /**
+     * Request the next game state of the arena.
+     * The request is coalesced with the pending one by {@link #getTransitionPolicy()}, atomically and without locks,
+     * and the arena is woken if the request is accepted.
+     * A request of the same class as the pending one is accepted and coalesced with it, so it does not cause a second transition.
+     * This includes a request that arrives while the pending transition is being applied.
+     * An accepted request can still be replaced by {@link #setNextState(Class)} or {@link #compareAndSetNextState(Class, Class)}.
+     *
+     * @param stateClass the class of the game state, or null to cancel the pending one
+     * @return true if the request is accepted, or false if it is rejected by the policy
+     */
+    public boolean requestNextState(Class<? extends GameState> stateClass) {
+        if (stateClass == null) {
+            nextState.set(null);
+            return true;
+        }
+        TransitionPolicy policy = getTransitionPolicy();
+        while (true) {
+            Class<? extends GameState> pending = nextState.get();
+            Class<? extends GameState> resolved = policy.resolve(this, pending, stateClass);
+            // Not a lazy set, so a suspending arena either sees the next state or is seen as suspended
+            if (resolved == pending || nextState.compareAndSet(pending, resolved)) {
+                if (resolved != stateClass) return false;
+                wake();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Set the next game state of the arena if the pending one is the expected one, regardless of {@link #getTransitionPolicy()}.
+     * The arena is woken if the next state is set.
+     *
+     * @param expected   the class of the expected pending state, or null if there should be no pending state
+     * @param stateClass the class of the game state, or null to cancel the pending one
+     * @return true if the next state is set
+     */
+    public boolean compareAndSetNextState(Class<? extends GameState> expected, Class<? extends GameState> stateClass) {
+        if (!nextState.compareAndSet(expected, stateClass)) return false;
+        if (stateClass != null) {
+            wake();
+        }
+        return true;
+    }
+
+    /**
+     * Get the policy that coalesces a requested transition with the pending one.
+     * Default is {@link TransitionPolicy#rejectIfPending()}, so an accepted request is never replaced by another request.
+     *
+     * @return the policy
+     */
+    protected TransitionPolicy getTransitionPolicy() {
+        return TransitionPolicy.rejectIfPending();
+    }
+
+    /**
+     * Get the maximum number of transitions in a tick.
+     * A transition requested during the start of a state is applied in the same tick if the maximum is not reached.
+     * Default is 1
+     *
+     * @return the maximum number of transitions
+     */
+    protected int getMaxTransitionsPerTick() {
+        return 1;
     }
 
     /**
@@ -169,4 +808,14 @@ public class Arena extends FeatureUnit implements Runnable {
     public Optional<GameState> getNextStateInstance() {
         return Optional.ofNullable(getNextState()).map(this::getGameState);
     }
+
+    private static final class ResolvedState {
+        private final Class<? extends GameState> stateClass;
+        private final GameState instance;
+
+        private ResolvedState(Class<? extends GameState> stateClass, GameState instance) {
+            this.stateClass = stateClass;
+            this.instance = instance;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The bounded mailbox of the commands submitted to an {@link Arena} from any thread.
+ * The commands are offered without locks, and are drained in batches by the thread that ticks the arena,
+ * so the state of the features that is only changed by the commands and the ticks is confined to that thread.
+ * When the mailbox is full, the commands are rejected, so the submitters can apply backpressure.
+ *
+ * @see Arena#submit(Runnable)
+ */
+public final class ArenaMailbox {
+    private final AtomicReferenceArray<Runnable> buffer;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile int maxDepth;
+
+    /**
+     * Create a new mailbox
+     *
+     * @param capacity the capacity, which is rounded up to a power of 2
+     */
+    public ArenaMailbox(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Offer the command to the mailbox
+     *
+     * @param command the command
+     * @return true if the command is added, or false if the mailbox is full
+     */
+    public boolean offer(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("The command cannot be null");
+        }
+        while (true) {
+            long currentTail = tail.get();
+            if (currentTail - head.get() > mask) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                // The slot is released by the consumer before it moves the head past it
+                buffer.lazySet((int) currentTail & mask, command);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Run the commands in the mailbox on the current thread, which must be the only thread that drains the mailbox.
+     * The commands that throw are reported to the uncaught exception handler of the thread.
+     *
+     * @param maxCommands the maximum number of commands to run
+     * @return the number of commands that are run
+     */
+    public int drain(int maxCommands) {
+        int depth = (int) Math.min(Integer.MAX_VALUE, tail.get() - head.get());
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        int count = 0;
+        while (count < maxCommands) {
+            // Read the head again, as a command can discard the rest of the mailbox by clearing it
+            long currentHead = head.get();
+            int index = (int) currentHead & mask;
+            Runnable command = buffer.get(index);
+            // Stop at an empty slot, which can also be a slot that is claimed but not written yet
+            if (command == null) break;
+            buffer.lazySet(index, null);
+            head.lazySet(currentHead + 1);
+            count++;
+            try {
+                command.run();
+            } catch (Throwable throwable) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Discard the commands in the mailbox.
+     * It must be called by the thread that drains the mailbox, or when the mailbox is not drained.
+     *
+     * @return the number of discarded commands
+     */
+    public int clear() {
+        long currentHead = head.get();
+        int count = 0;
+        while (true) {
+            int index = (int) currentHead & mask;
+            if (buffer.get(index) == null) break;
+            buffer.lazySet(index, null);
+            head.lazySet(++currentHead);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Check if the mailbox has no command
+     *
+     * @return true if it is
+     */
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * Get the number of the commands in the mailbox
+     *
+     * @return the depth of the mailbox
+     */
+    public int getDepth() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Get the highest depth seen at the start of a drain
+     *
+     * @return the highest depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Get the capacity of the mailbox
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Get the number of the commands that are added to the mailbox
+     *
+     * @return the number of the commands
+     */
+    public long getSubmittedCount() {
+        return tail.get();
+    }
+
+    /**
+     * Get the number of the commands that are taken out of the mailbox, by running or discarding them
+     *
+     * @return the number of the commands
+     */
+    public long getDrainedCount() {
+        return head.get();
+    }
+
+    /**
+     * Get the number of the commands that are rejected because the mailbox is full
+     *
+     * @return the number of the commands
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link ArenaMonitor} that records the latencies of the arena ticks and the game states.
+ * The clock is read when each phase begins and ends, so the latency of a phase only covers its own call,
+ * and the latency of the tick also covers the work between the phases, such as the mailbox and the tickable features.
+ *
+ * @see Arena#enableMetrics()
+ */
+public final class ArenaMetrics implements ArenaMonitor {
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+    private final LatencyHistogram stateChangeLatency = new LatencyHistogram();
+    private final Map<Class<? extends GameState>, StateMetrics> stateMetricsMap = new ConcurrentHashMap<>();
+    private final long[] beginTimes = new long[ArenaPhase.values().length];
+
+    @Override
+    public void begin(Arena arena, ArenaPhase phase, GameState state) {
+        beginTimes[phase.ordinal()] = System.nanoTime();
+    }
+
+    @Override
+    public void end(Arena arena, ArenaPhase phase, GameState state) {
+        long latency = System.nanoTime() - beginTimes[phase.ordinal()];
+        switch (phase) {
+            case TICK:
+                tickLatency.record(latency);
+                break;
+            case STATE_CHANGE:
+                stateChangeLatency.record(latency);
+                break;
+            default:
+                getOrCreateStateMetrics(state.getClass()).getLatency(phase).record(latency);
+                break;
+        }
+    }
+
+    private StateMetrics getOrCreateStateMetrics(Class<? extends GameState> stateClass) {
+        StateMetrics stateMetrics = stateMetricsMap.get(stateClass);
+        if (stateMetrics == null) {
+            stateMetrics = stateMetricsMap.computeIfAbsent(stateClass, k -> new StateMetrics());
+        }
+        return stateMetrics;
+    }
+
+    /**
+     * Get the latency of the whole tick
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getTickLatency() {
+        return tickLatency;
+    }
+
+    /**
+     * Get the latency of {@link Arena#callStateChanged(GameState, GameState)}
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getStateChangeLatency() {
+        return stateChangeLatency;
+    }
+
+    /**
+     * Get the classes of the recorded game states
+     *
+     * @return the classes
+     */
+    public Set<Class<? extends GameState>> getStateClasses() {
+        return Collections.unmodifiableSet(stateMetricsMap.keySet());
+    }
+
+    /**
+     * Get the latency of the phase of the game state
+     *
+     * @param stateClass the class of the game state
+     * @param phase      the phase, one of {@link ArenaPhase#STATE_START}, {@link ArenaPhase#STATE_UPDATE} and {@link ArenaPhase#STATE_END}
+     * @return the latency histogram, or null if the game state is not recorded
+     */
+    public LatencyHistogram getStateLatency(Class<? extends GameState> stateClass, ArenaPhase phase) {
+        StateMetrics stateMetrics = stateMetricsMap.get(stateClass);
+        return stateMetrics == null ? null : stateMetrics.getLatency(phase);
+    }
+
+    /**
+     * Add all recorded latencies of the other metrics to this metrics
+     *
+     * @param other the other metrics
+     */
+    public void add(ArenaMetrics other) {
+        tickLatency.add(other.tickLatency);
+        stateChangeLatency.add(other.stateChangeLatency);
+        other.stateMetricsMap.forEach((stateClass, stateMetrics) -> getOrCreateStateMetrics(stateClass).add(stateMetrics));
+    }
+
+    /**
+     * Reset the metrics
+     */
+    public void reset() {
+        tickLatency.reset();
+        stateChangeLatency.reset();
+        stateMetricsMap.clear();
+    }
+
+    private static final class StateMetrics {
+        private final LatencyHistogram startLatency = new LatencyHistogram();
+        private final LatencyHistogram updateLatency = new LatencyHistogram();
+        private final LatencyHistogram endLatency = new LatencyHistogram();
+
+        private LatencyHistogram getLatency(ArenaPhase phase) {
+            switch (phase) {
+                case STATE_START:
+                    return startLatency;
+                case STATE_UPDATE:
+                    return updateLatency;
+                case STATE_END:
+                    return endLatency;
+                default:
+                    throw new IllegalArgumentException("Not a phase of the game state: " + phase);
+            }
+        }
+
+        private void add(StateMetrics other) {
+            startLatency.add(other.startLatency);
+            updateLatency.add(other.updateLatency);
+            endLatency.add(other.endLatency);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The monitor that observes the phases of {@link Arena#run()}.
+ * The phases are nested in {@link ArenaPhase#TICK} and are called on the thread that ticks the arena.
+ *
+ * @see Arena#setMonitor(ArenaMonitor)
+ */
+public interface ArenaMonitor {
+    /**
+     * Combine the monitors into one
+     *
+     * @param monitors the monitors
+     * @return the combined monitor
+     */
+    static ArenaMonitor of(ArenaMonitor... monitors) {
+        if (monitors.length == 1) {
+            return monitors[0];
+        }
+        ArenaMonitor[] copy = monitors.clone();
+        return new ArenaMonitor() {
+            @Override
+            public void begin(Arena arena, ArenaPhase phase, GameState state) {
+                for (ArenaMonitor monitor : copy) {
+                    monitor.begin(arena, phase, state);
+                }
+            }
+
+            @Override
+            public void end(Arena arena, ArenaPhase phase, GameState state) {
+                for (int i = copy.length - 1; i >= 0; i--) {
+                    copy[i].end(arena, phase, state);
+                }
+            }
+        };
+    }
+
+    /**
+     * Called when the phase begins
+     *
+     * @param arena the arena
+     * @param phase the phase
+     * @param state the game state of the phase, or null if the phase is {@link ArenaPhase#TICK}.
+     *              The new state if the phase is {@link ArenaPhase#STATE_CHANGE}
+     */
+    void begin(Arena arena, ArenaPhase phase, GameState state);
+
+    /**
+     * Called when the phase ends
+     *
+     * @param arena the arena
+     * @param phase the phase
+     * @param state the game state of the phase, the same as {@link #begin(Arena, ArenaPhase, GameState)}
+     */
+    void end(Arena arena, ArenaPhase phase, GameState state);
+}
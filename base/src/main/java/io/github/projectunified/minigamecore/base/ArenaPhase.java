@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The phases of {@link Arena#run()} that can be observed by an {@link ArenaMonitor}
+ */
+public enum ArenaPhase {
+    /**
+     * The whole tick of the arena
+     */
+    TICK,
+    /**
+     * The call of {@link Arena#callStateChanged(GameState, GameState)}
+     */
+    STATE_CHANGE,
+    /**
+     * The call of {@link GameState#start(Arena)}
+     */
+    STATE_START,
+    /**
+     * The call of {@link GameState#update(Arena)}
+     */
+    STATE_UPDATE,
+    /**
+     * The call of {@link GameState#end(Arena)}
+     */
+    STATE_END
+}
@@ -0,0 +1,19 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The listener that is notified when the state of an {@link Arena} is changed.
+ * It is called on the thread that ticks the arena, after the state is changed and before the old state ends.
+ *
+ * @see Arena#addStateListener(ArenaStateListener)
+ */
+@FunctionalInterface
+public interface ArenaStateListener {
+    /**
+     * Called when the state of the arena is changed
+     *
+     * @param arena    the arena
+     * @param oldState the class of the old state, or null if the arena had no state
+     * @param newState the class of the new state
+     */
+    void onStateChanged(Arena arena, Class<? extends GameState> oldState, Class<? extends GameState> newState);
+}
@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The monotonic clock that measures the elapsed time in nanoseconds.
+ * The values are only meaningful when compared with other values of the same clock, like {@link System#nanoTime()}.
+ *
+ * @see TickClock
+ * @see ManualClock
+ */
+@FunctionalInterface
+public interface Clock {
+    /**
+     * Get the clock of {@link System#nanoTime()}
+     *
+     * @return the system clock
+     */
+    static Clock system() {
+        return System::nanoTime;
+    }
+
+    /**
+     * Get the current time of the clock
+     *
+     * @return the current time in nanoseconds
+     */
+    long nanoTime();
+}
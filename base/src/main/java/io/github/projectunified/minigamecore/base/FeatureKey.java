@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The typed key of a {@link Feature} class
+ *
+ * @param <T> the type of the feature
+ * @see TypeKey
+ */
+public final class FeatureKey<T extends Feature> extends TypeKey<T, FeatureKey<?>> {
+    private static final KeyRegistry<FeatureKey<?>> REGISTRY = new KeyRegistry<>(Feature.class, FeatureKey::new);
+
+    private FeatureKey(KeyRegistry<FeatureKey<?>> registry, Class<?> type) {
+        super(registry, type);
+    }
+
+    /**
+     * Get the key of the feature class
+     *
+     * @param featureClass the class of the feature
+     * @param <T>          the type of the feature
+     * @return the key
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Feature> FeatureKey<T> of(Class<T> featureClass) {
+        return (FeatureKey<T>) REGISTRY.get(featureClass);
+    }
+}
@@ -1,16 +1,31 @@
 package io.github.projectunified.minigamecore.base;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * A unit to handle the arena {@link Feature} and {@link GameState}
+ * A unit to handle the arena {@link Feature} and {@link GameState}.
+ * The instances are stored in arrays by the index of their {@link FeatureKey} and {@link StateKey}, which is assigned when the class is first registered in a unit.
+ * The indexes are global to the JVM and never reclaimed, so only the indexes below {@value #MAX_DENSE_ID} are stored in the arrays,
+ * and the classes with higher indexes, such as the ones of a plugin that is reloaded many times, are looked up by class.
  */
 public abstract class FeatureUnit implements Initializer {
-    private final Map<Class<? extends GameState>, GameState> gameStateMap = new IdentityHashMap<>();
-    private final Map<Class<? extends Feature>, Feature> featureMap = new IdentityHashMap<>();
+    /**
+     * The limit of the indexes that are stored in the arrays of a unit, which bounds the arrays of a unit to this number of elements
+     */
+    public static final int MAX_DENSE_ID = 256;
+    private static volatile UnitMonitor globalMonitor;
+    private final InstanceTable gameStateTable = new InstanceTable();
+    private final InstanceTable featureTable = new InstanceTable();
     private final List<Feature> features = new ArrayList<>();
     private final List<GameState> gameStates = new ArrayList<>();
     private final List<FeatureUnit> parentList;
+    private final FeatureUnit[] parents;
+    private final List<WeakReference<FeatureUnit>> children = new ArrayList<>();
+    private final AtomicLong parentGeneration = new AtomicLong();
+    private int childPruneSize = 16;
 
     /**
      * Create a new {@link FeatureUnit}
@@ -19,6 +34,10 @@ public abstract class FeatureUnit implements Initializer {
      */
     public FeatureUnit(List<FeatureUnit> parentList) {
         this.parentList = parentList;
+        this.parents = parentList.toArray(new FeatureUnit[0]);
+        for (FeatureUnit parent : parents) {
+            parent.addChild(this);
+        }
     }
 
     /**
@@ -30,33 +49,6 @@ public abstract class FeatureUnit implements Initializer {
         this(parent.length == 0 ? Collections.emptyList() : Arrays.asList(parent));
     }
 
-    private static <T> Set<Class<? extends T>> getSuperClasses(Class<T> baseClass, Class<? extends T> childClass) {
-        Set<Class<? extends T>> classSet = new HashSet<>();
-        classSet.add(childClass);
-
-        Queue<Class<? extends T>> classQueue = new LinkedList<>();
-        classQueue.add(childClass);
-        while (true) {
-            Class<? extends T> currentClass = classQueue.poll();
-            if (currentClass == null) {
-                break;
-            }
-
-            List<Class<?>> superClasses = new ArrayList<>(Arrays.asList(currentClass.getInterfaces()));
-            Optional.ofNullable(currentClass.getSuperclass()).ifPresent(superClasses::add);
-
-            for (Class<?> superClassOrInterface : superClasses) {
-                if (baseClass.isAssignableFrom(superClassOrInterface)) {
-                    Class<? extends T> superClassOrInterfaceSubClass = superClassOrInterface.asSubclass(baseClass);
-                    if (classSet.add(superClassOrInterfaceSubClass)) {
-                        classQueue.add(superClassOrInterfaceSubClass);
-                    }
-                }
-            }
-        }
-        return classSet;
-    }
-
     /**
      * Load the game states
      *
@@ -91,36 +83,239 @@ public abstract class FeatureUnit implements Initializer {
         return parentList;
     }
 
+    /**
+     * Get the monitor that observes the lifecycle of all units
+     *
+     * @return the monitor, or null if there is no monitor
+     */
+    public static UnitMonitor getGlobalUnitMonitor() {
+        return globalMonitor;
+    }
+
+    /**
+     * Set the monitor to observe the lifecycle of all units.
+     * When there is no monitor, the lifecycle does not measure anything.
+     *
+     * @param monitor the monitor, or null to remove the monitor
+     */
+    public static void setGlobalUnitMonitor(UnitMonitor monitor) {
+        globalMonitor = monitor;
+    }
+
+    private static void callPhase(UnitMonitor monitor, FeatureUnit unit, UnitPhase phase, List<? extends Initializer> components, boolean reversed) {
+        for (int i = 0; i < components.size(); i++) {
+            Initializer component = components.get(reversed ? components.size() - 1 - i : i);
+            if (monitor != null) {
+                monitor.begin(unit, phase, component);
+            }
+            try {
+                switch (phase) {
+                    case INIT:
+                        component.init();
+                        break;
+                    case POST_INIT:
+                        component.postInit();
+                        break;
+                    case RESET:
+                        component.reset();
+                        break;
+                    default:
+                        component.clear();
+                        break;
+                }
+            } finally {
+                if (monitor != null) {
+                    monitor.end(unit, phase, component);
+                }
+            }
+        }
+    }
+
     @Override
     public void init() {
+        UnitMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            initUnit(null);
+            return;
+        }
+        monitor.begin(this, UnitPhase.INIT, null);
+        try {
+            initUnit(monitor);
+        } finally {
+            monitor.end(this, UnitPhase.INIT, null);
+        }
+    }
+
+    private void initUnit(UnitMonitor monitor) {
         this.gameStates.addAll(loadGameStates());
-        gameStates.forEach(gameState -> getSuperClasses(GameState.class, gameState.getClass()).forEach(clazz -> gameStateMap.put(clazz, gameState)));
+        for (GameState gameState : gameStates) {
+            List<StateKey<?>> keys = StateKey.of(gameState.getClass()).getSuperKeys();
+            for (int i = 0; i < keys.size(); i++) {
+                StateKey<?> key = keys.get(i);
+                gameStateTable.put(key.register(), key.getType(), gameState);
+            }
+        }
 
         this.features.addAll(loadFeatures());
-        features.forEach(feature -> getSuperClasses(Feature.class, feature.getClass()).forEach(clazz -> featureMap.put(clazz, feature)));
+        for (Feature feature : features) {
+            List<FeatureKey<?>> keys = FeatureKey.of(feature.getClass()).getSuperKeys();
+            for (int i = 0; i < keys.size(); i++) {
+                FeatureKey<?> key = keys.get(i);
+                featureTable.put(key.register(), key.getType(), feature);
+            }
+        }
 
-        features.forEach(Initializer::init);
-        gameStates.forEach(Initializer::init);
+        callPhase(monitor, this, UnitPhase.INIT, features, false);
+        callPhase(monitor, this, UnitPhase.INIT, gameStates, false);
+        invalidateChildren();
     }
 
     @Override
     public void postInit() {
-        features.forEach(Initializer::postInit);
-        gameStates.forEach(Initializer::postInit);
+        UnitMonitor monitor = globalMonitor;
+        if (monitor != null) {
+            monitor.begin(this, UnitPhase.POST_INIT, null);
+        }
+        try {
+            callPhase(monitor, this, UnitPhase.POST_INIT, features, false);
+            callPhase(monitor, this, UnitPhase.POST_INIT, gameStates, false);
+        } finally {
+            if (monitor != null) {
+                monitor.end(this, UnitPhase.POST_INIT, null);
+            }
+        }
     }
 
     @Override
     public void clear() {
-        for (int i = gameStates.size() - 1; i >= 0; i--) {
-            gameStates.get(i).clear();
+        UnitMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            clearUnit(null);
+            return;
+        }
+        monitor.begin(this, UnitPhase.CLEAR, null);
+        try {
+            clearUnit(monitor);
+        } finally {
+            monitor.end(this, UnitPhase.CLEAR, null);
+        }
+    }
+
+    /**
+     * Reset the features and the game states to their initial condition.
+     * The instances and the lookups are kept, so the unit does not load them again.
+     * The features and the game states are reset in the order of initialization, then post-initialized again.
+     *
+     * @see Initializer#reset()
+     */
+    @Override
+    public void reset() {
+        UnitMonitor monitor = globalMonitor;
+        if (monitor != null) {
+            monitor.begin(this, UnitPhase.RESET, null);
         }
-        for (int i = features.size() - 1; i >= 0; i--) {
-            features.get(i).clear();
+        try {
+            callPhase(monitor, this, UnitPhase.RESET, features, false);
+            callPhase(monitor, this, UnitPhase.RESET, gameStates, false);
+            callPhase(monitor, this, UnitPhase.POST_INIT, features, false);
+            callPhase(monitor, this, UnitPhase.POST_INIT, gameStates, false);
+        } finally {
+            if (monitor != null) {
+                monitor.end(this, UnitPhase.RESET, null);
+            }
         }
-        featureMap.clear();
-        gameStateMap.clear();
+    }
+
+    private void clearUnit(UnitMonitor monitor) {
+        callPhase(monitor, this, UnitPhase.CLEAR, gameStates, true);
+        callPhase(monitor, this, UnitPhase.CLEAR, features, true);
+        featureTable.clear();
+        gameStateTable.clear();
         features.clear();
         gameStates.clear();
+        invalidateChildren();
+    }
+
+    private void addChild(FeatureUnit child) {
+        synchronized (children) {
+            // Drop the collected children once in a while, so a parent of short-lived arenas does not grow forever
+            if (children.size() >= childPruneSize) {
+                children.removeIf(reference -> reference.get() == null);
+                childPruneSize = Math.max(16, children.size() * 2);
+            }
+            children.add(new WeakReference<>(child));
+        }
+    }
+
+    private void invalidateChildren() {
+        List<FeatureUnit> descendants;
+        synchronized (children) {
+            if (children.isEmpty()) return;
+            descendants = new ArrayList<>(children.size());
+            for (WeakReference<FeatureUnit> reference : children) {
+                FeatureUnit child = reference.get();
+                if (child != null) {
+                    descendants.add(child);
+                }
+            }
+        }
+        for (FeatureUnit child : descendants) {
+            child.parentGeneration.incrementAndGet();
+            child.invalidateChildren();
+        }
+    }
+
+    private Object resolveGameState(Class<?> type, int id) {
+        // Read before the parents, so a change of the parents during the resolution leaves the cached instance stale
+        long generation = parentGeneration.get();
+        ResolvedInstance resolved = gameStateTable.getResolved(id, type);
+        if (resolved != null && resolved.generation == generation) {
+            return resolved.instance;
+        }
+
+        Object instance = null;
+        for (FeatureUnit parent : parents) {
+            //noinspection unchecked
+            instance = parent.getGameState((Class<? extends GameState>) type);
+            if (instance != null) break;
+        }
+        gameStateTable.putResolved(id, type, new ResolvedInstance(instance, generation));
+        return instance;
+    }
+
+    private Object resolveFeature(Class<?> type, int id) {
+        // Read before the parents, so a change of the parents during the resolution leaves the cached instance stale
+        long generation = parentGeneration.get();
+        ResolvedInstance resolved = featureTable.getResolved(id, type);
+        if (resolved != null && resolved.generation == generation) {
+            return resolved.instance;
+        }
+
+        Object instance = null;
+        for (FeatureUnit parent : parents) {
+            //noinspection unchecked
+            instance = parent.getFeature((Class<? extends Feature>) type);
+            if (instance != null) break;
+        }
+        featureTable.putResolved(id, type, new ResolvedInstance(instance, generation));
+        return instance;
+    }
+
+    /**
+     * Get the instance of the game state.
+     * The instance resolved from the parents is cached until one of the parents is initialized or cleared.
+     *
+     * @param key the key of the game state
+     * @param <T> the type of the game state
+     * @return the instance of the game state
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameState> T getGameState(StateKey<T> key) {
+        Object gameState = gameStateTable.get(key.getId(), key.getType());
+        if (gameState == null && !parentList.isEmpty()) {
+            gameState = resolveGameState(key.getType(), key.getId());
+        }
+        return (T) gameState;
     }
 
     /**
@@ -129,22 +324,31 @@ public abstract class FeatureUnit implements Initializer {
      * @param gameStateClass the class of the game state
      * @param <T>            the type of the game state
      * @return the instance of the game state
+     * @see #getGameState(StateKey)
      */
     public <T extends GameState> T getGameState(Class<T> gameStateClass) {
-        GameState gameState = gameStateMap.get(gameStateClass);
-        T checkedGameState = gameStateClass.isInstance(gameState) ? gameStateClass.cast(gameState) : null;
-        if (checkedGameState != null) {
-            return checkedGameState;
+        Object gameState = gameStateTable.get(gameStateClass);
+        if (gameState == null && !parentList.isEmpty()) {
+            gameState = resolveGameState(gameStateClass, StateKey.of(gameStateClass).getId());
         }
+        return gameStateClass.cast(gameState);
+    }
 
-        for (FeatureUnit parent : parentList) {
-            checkedGameState = parent.getGameState(gameStateClass);
-            if (checkedGameState != null) {
-                return checkedGameState;
-            }
+    /**
+     * Get the instance of the feature.
+     * The instance resolved from the parents is cached until one of the parents is initialized or cleared.
+     *
+     * @param key the key of the feature
+     * @param <T> the type of the feature
+     * @return the instance of the feature
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Feature> T getFeature(FeatureKey<T> key) {
+        Object feature = featureTable.get(key.getId(), key.getType());
+        if (feature == null && !parentList.isEmpty()) {
+            feature = resolveFeature(key.getType(), key.getId());
         }
-
-        return null;
+        return (T) feature;
     }
 
     /**
@@ -153,22 +357,14 @@ public abstract class FeatureUnit implements Initializer {
      * @param featureClass the class of the feature
      * @param <T>          the type of the feature
      * @return the instance of the feature
+     * @see #getFeature(FeatureKey)
      */
     public <T extends Feature> T getFeature(Class<T> featureClass) {
-        Feature feature = featureMap.get(featureClass);
-        T checkedFeature = featureClass.isInstance(feature) ? featureClass.cast(feature) : null;
-        if (checkedFeature != null) {
-            return checkedFeature;
+        Object feature = featureTable.get(featureClass);
+        if (feature == null && !parentList.isEmpty()) {
+            feature = resolveFeature(featureClass, FeatureKey.of(featureClass).getId());
         }
-
-        for (FeatureUnit parent : parentList) {
-            checkedFeature = parent.getFeature(featureClass);
-            if (checkedFeature != null) {
-                return checkedFeature;
-            }
-        }
-
-        return null;
+        return featureClass.cast(feature);
     }
 
     /**
@@ -177,8 +373,12 @@ public abstract class FeatureUnit implements Initializer {
      * @param deep if true, it will get all classes of the game states from the parent
      * @return the classes
      */
+    @SuppressWarnings("unchecked")
     public Set<Class<? extends GameState>> getGameStates(boolean deep) {
-        Set<Class<? extends GameState>> classes = new HashSet<>(gameStateMap.keySet());
+        Set<Class<? extends GameState>> classes = new HashSet<>();
+        for (Class<?> clazz : gameStateTable.classMap.keySet()) {
+            classes.add((Class<? extends GameState>) clazz);
+        }
         if (deep) {
             for (FeatureUnit parent : parentList) {
                 classes.addAll(parent.getGameStates(true));
@@ -187,14 +387,27 @@ public abstract class FeatureUnit implements Initializer {
         return Collections.unmodifiableSet(classes);
     }
 
+    /**
+     * Get the features loaded by this unit, without the features of the parent
+     *
+     * @return the features
+     */
+    List<Feature> getLoadedFeatures() {
+        return features;
+    }
+
     /**
      * Get all classes of the features
      *
      * @param deep if true, it will get all classes of the features from the parent
      * @return the classes
      */
+    @SuppressWarnings("unchecked")
     public Set<Class<? extends Feature>> getFeatures(boolean deep) {
-        Set<Class<? extends Feature>> classes = new HashSet<>(featureMap.keySet());
+        Set<Class<? extends Feature>> classes = new HashSet<>();
+        for (Class<?> clazz : featureTable.classMap.keySet()) {
+            classes.add((Class<? extends Feature>) clazz);
+        }
         if (deep) {
             for (FeatureUnit parent : parentList) {
                 classes.addAll(parent.getFeatures(true));
@@ -202,4 +415,85 @@ public abstract class FeatureUnit implements Initializer {
         }
         return Collections.unmodifiableSet(classes);
     }
+
+    private static final class InstanceTable {
+        private static final Object[] EMPTY_INSTANCES = new Object[0];
+        private static final ResolvedInstance[] EMPTY_RESOLVED = new ResolvedInstance[0];
+        private final Map<Class<?>, Object> classMap = new IdentityHashMap<>();
+        private Object[] instances = EMPTY_INSTANCES;
+        private volatile ResolvedInstance[] resolved = EMPTY_RESOLVED;
+        private volatile Map<Class<?>, ResolvedInstance> sparseResolved;
+
+        private static boolean isSparse(int id) {
+            // An unregistered key is not stored in any unit, but its resolution from the parents is cached by class
+            return id < 0 || id >= MAX_DENSE_ID;
+        }
+
+        private Object get(int id, Class<?> type) {
+            if (id == TypeKey.UNREGISTERED) return null;
+            if (id >= MAX_DENSE_ID) return classMap.get(type);
+            Object[] array = instances;
+            return id < array.length ? array[id] : null;
+        }
+
+        private void put(int id, Class<?> type, Object instance) {
+            classMap.put(type, instance);
+            if (id >= MAX_DENSE_ID) return;
+            Object[] array = instances;
+            if (id >= array.length) {
+                array = Arrays.copyOf(array, id + 1);
+            }
+            array[id] = instance;
+            instances = array;
+        }
+
+        private Object get(Class<?> type) {
+            return classMap.get(type);
+        }
+
+        private ResolvedInstance getResolved(int id, Class<?> type) {
+            if (isSparse(id)) {
+                Map<Class<?>, ResolvedInstance> map = sparseResolved;
+                return map == null ? null : map.get(type);
+            }
+            ResolvedInstance[] array = resolved;
+            return id < array.length ? array[id] : null;
+        }
+
+        private void putResolved(int id, Class<?> type, ResolvedInstance instance) {
+            if (isSparse(id)) {
+                Map<Class<?>, ResolvedInstance> map = sparseResolved;
+                if (map == null) {
+                    // A map created by a racing thread is lost along with its entries, which are only a cache
+                    map = new ConcurrentHashMap<>();
+                    sparseResolved = map;
+                }
+                map.put(type, instance);
+                return;
+            }
+            ResolvedInstance[] array = resolved;
+            if (id >= array.length) {
+                array = Arrays.copyOf(array, id + 1);
+            }
+            array[id] = instance;
+            resolved = array;
+        }
+
+        private void clear() {
+            classMap.clear();
+            instances = EMPTY_INSTANCES;
+            resolved = EMPTY_RESOLVED;
+            sparseResolved = null;
+        }
+    }
+
+    private static final class ResolvedInstance {
+        private final Object instance;
+        private final long generation;
+
+        private ResolvedInstance(Object instance, long generation) {
+            this.instance = instance;
+            this.generation = generation;
+        }
+    }
 }
@@ -25,6 +25,32 @@ public interface GameState extends Initializer {
         // EMPTY
     }
 
+    /**
+     * Check if the state is idle, which means {@link #update(Arena)} does nothing until something wakes the arena.
+     * It is checked after each tick, and the arena is suspended if the state is idle, there is no next state and all {@link TickableFeature} are idle.
+     * A suspended arena is not ticked until {@link Arena#wake()} is called, which is done by {@link Arena#setNextState(Class)}.
+     * Default is false
+     *
+     * @param arena the arena
+     * @return true if the state is idle
+     * @see Arena#suspend()
+     */
+    default boolean isIdle(Arena arena) {
+        return false;
+    }
+
+    /**
+     * Get the preferred period between the ticks of the arena in this state, in the time unit of the scheduler of the arena.
+     * The arena is rescheduled with this period when it changes to this state, if its scheduler supports it.
+     * Default is 0, which uses the period of the arena
+     *
+     * @param arena the arena
+     * @return the period, or 0 to use the period of the arena
+     */
+    default long getPeriod(Arena arena) {
+        return 0;
+    }
+
     /**
      * Handle the logic of the arena at the end of the state.
      * This is usually called when the state of the arena is changed.
@@ -24,4 +24,13 @@ public interface Initializer {
     default void clear() {
         // EMPTY
     }
+
+    /**
+     * Reset the object to its initial condition, so it can be used again without being created again.
+     * Default is to clear and initialize the object again.
+     */
+    default void reset() {
+        clear();
+        init();
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The registry of the {@link TypeKey} of each class of a base type, and of the dense indexes assigned to the registered keys
+ *
+ * @param <K> the type of the key
+ */
+final class KeyRegistry<K extends TypeKey<?, K>> {
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Class<?> baseClass;
+    private final ClassValue<K> keys;
+
+    KeyRegistry(Class<?> baseClass, KeyFactory<K> factory) {
+        this.baseClass = baseClass;
+        this.keys = new ClassValue<K>() {
+            @Override
+            protected K computeValue(Class<?> type) {
+                return factory.create(KeyRegistry.this, type.asSubclass(baseClass));
+            }
+        };
+    }
+
+    static <T> List<Class<? extends T>> getSuperClasses(Class<T> baseClass, Class<? extends T> childClass) {
+        Set<Class<? extends T>> classSet = new LinkedHashSet<>();
+        classSet.add(childClass);
+
+        Queue<Class<? extends T>> classQueue = new LinkedList<>();
+        classQueue.add(childClass);
+        while (true) {
+            Class<? extends T> currentClass = classQueue.poll();
+            if (currentClass == null) {
+                break;
+            }
+
+            List<Class<?>> superClasses = new ArrayList<>(Arrays.asList(currentClass.getInterfaces()));
+            Optional.ofNullable(currentClass.getSuperclass()).ifPresent(superClasses::add);
+
+            for (Class<?> superClassOrInterface : superClasses) {
+                if (baseClass.isAssignableFrom(superClassOrInterface)) {
+                    Class<? extends T> superClassOrInterfaceSubClass = superClassOrInterface.asSubclass(baseClass);
+                    if (classSet.add(superClassOrInterfaceSubClass)) {
+                        classQueue.add(superClassOrInterfaceSubClass);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(classSet);
+    }
+
+    K get(Class<?> type) {
+        return keys.get(type);
+    }
+
+    int nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    @SuppressWarnings("unchecked")
+    List<K> getSuperKeys(Class<?> type) {
+        List<K> superKeys = new ArrayList<>();
+        for (Class<?> superClass : getSuperClasses((Class<Object>) baseClass, type)) {
+            superKeys.add(get(superClass));
+        }
+        return superKeys;
+    }
+
+    interface KeyFactory<K extends TypeKey<?, K>> {
+        K create(KeyRegistry<K> registry, Class<?> type);
+    }
+}
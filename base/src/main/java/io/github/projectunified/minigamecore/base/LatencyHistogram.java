@@ -0,0 +1,160 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds.
+ * The values are recorded into log-linear buckets (8 buckets for each power of 2),
+ * so the percentiles have a relative error of at most 12.5% and recording does not allocate.
+ * Latencies above about 68 seconds are counted in the last bucket.
+ * The histogram is meant to be recorded by one thread at a time (such as the thread ticking an arena) and read from any thread.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 35;
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private volatile long max;
+
+    private static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Record a latency
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int index = getBucketIndex(Math.min(nanos, MAX_TRACKABLE_VALUE));
+        buckets.lazySet(index, buckets.get(index) + 1);
+        sum.lazySet(sum.get() + nanos);
+        count.lazySet(count.get() + 1);
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * Add all recorded latencies of the other histogram to this histogram
+     *
+     * @param other the other histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucket = other.buckets.get(i);
+            if (bucket != 0) {
+                buckets.lazySet(i, buckets.get(i) + bucket);
+            }
+        }
+        sum.lazySet(sum.get() + other.sum.get());
+        count.lazySet(count.get() + other.count.get());
+        if (other.max > max) {
+            max = other.max;
+        }
+    }
+
+    /**
+     * Get the number of recorded latencies
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the sum of recorded latencies in nanoseconds
+     *
+     * @return the sum
+     */
+    public long getTotal() {
+        return sum.get();
+    }
+
+    /**
+     * Get the maximum recorded latency in nanoseconds
+     *
+     * @return the maximum latency
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Get the mean of recorded latencies in nanoseconds
+     *
+     * @return the mean latency
+     */
+    public double getMean() {
+        long currentCount = count.get();
+        return currentCount == 0 ? 0 : (double) sum.get() / currentCount;
+    }
+
+    /**
+     * Get the latency at the percentile in nanoseconds
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the latency
+     */
+    public long getPercentile(double percentile) {
+        long currentCount = count.get();
+        if (currentCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(currentCount * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return Math.min(getBucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Reset the histogram
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + getCount() +
+                ", mean=" + getMean() +
+                ", p50=" + getPercentile(50) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
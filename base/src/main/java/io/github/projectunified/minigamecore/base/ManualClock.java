@@ -0,0 +1,50 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link Clock} that only moves when it is set or advanced, for deterministic tests and simulations
+ */
+public class ManualClock implements Clock {
+    private volatile long time;
+
+    /**
+     * Create a new clock
+     *
+     * @param time the initial time in nanoseconds
+     */
+    public ManualClock(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Create a new clock starting at 0
+     */
+    public ManualClock() {
+        this(0);
+    }
+
+    @Override
+    public long nanoTime() {
+        return time;
+    }
+
+    /**
+     * Set the current time of the clock
+     *
+     * @param time the time in nanoseconds
+     */
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Advance the clock
+     *
+     * @param duration the duration to advance
+     * @param unit     the time unit of the duration
+     */
+    public synchronized void advance(long duration, TimeUnit unit) {
+        this.time += unit.toNanos(duration);
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The typed key of a {@link GameState} class
+ *
+ * @param <T> the type of the game state
+ * @see TypeKey
+ */
+public final class StateKey<T extends GameState> extends TypeKey<T, StateKey<?>> {
+    private static final KeyRegistry<StateKey<?>> REGISTRY = new KeyRegistry<>(GameState.class, StateKey::new);
+
+    private StateKey(KeyRegistry<StateKey<?>> registry, Class<?> type) {
+        super(registry, type);
+    }
+
+    /**
+     * Get the key of the game state class
+     *
+     * @param gameStateClass the class of the game state
+     * @param <T>            the type of the game state
+     * @return the key
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends GameState> StateKey<T> of(Class<T> gameStateClass) {
+        return (StateKey<T>) REGISTRY.get(gameStateClass);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The {@link Clock} that is sampled once per tick of the arena.
+ * On the thread that ticks the arena, every read during the tick returns the time sampled at the start of the tick,
+ * so the features read the same time without calling the source clock.
+ * On the other threads, or outside the tick, the source clock is read directly.
+ *
+ * @see Arena#getTickClock()
+ */
+public class TickClock implements Clock {
+    private volatile Clock source;
+    private Thread tickThread;
+    private long tickTime;
+
+    /**
+     * Create a new clock
+     *
+     * @param source the source clock
+     */
+    public TickClock(Clock source) {
+        this.source = source;
+    }
+
+    /**
+     * Create a new clock with {@link Clock#system()} as the source
+     */
+    public TickClock() {
+        this(Clock.system());
+    }
+
+    /**
+     * Get the source clock
+     *
+     * @return the source clock
+     */
+    public Clock getSource() {
+        return source;
+    }
+
+    /**
+     * Set the source clock, such as a {@link ManualClock} for tests
+     *
+     * @param source the source clock
+     */
+    public void setSource(Clock source) {
+        this.source = source;
+    }
+
+    /**
+     * Sample the source clock at the start of the tick on the current thread
+     *
+     * @return the sampled time
+     */
+    public long beginTick() {
+        long time = source.nanoTime();
+        tickTime = time;
+        tickThread = Thread.currentThread();
+        return time;
+    }
+
+    /**
+     * End the tick on the current thread
+     */
+    public void endTick() {
+        tickThread = null;
+    }
+
+    @Override
+    public long nanoTime() {
+        // Both fields are only written by the ticking thread, so it always reads its own writes
+        if (tickThread == Thread.currentThread()) {
+            return tickTime;
+        }
+        return source.nanoTime();
+    }
+}
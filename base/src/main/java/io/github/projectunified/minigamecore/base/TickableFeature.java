@@ -0,0 +1,28 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The feature that is ticked by the {@link Arena} that loads it, on the thread that ticks the arena.
+ * The tickable features are ticked at the start of each tick, before the game state.
+ * The features of the parent units are not ticked.
+ */
+public interface TickableFeature extends Feature {
+    /**
+     * Tick the feature
+     *
+     * @param arena the arena
+     */
+    void tick(Arena arena);
+
+    /**
+     * Check if the feature is idle, which means it does nothing until something wakes the arena.
+     * An arena is only suspended if its current state and all of its tickable features are idle.
+     * Default is false
+     *
+     * @param arena the arena
+     * @return true if the feature is idle
+     * @see GameState#isIdle(Arena)
+     */
+    default boolean isIdle(Arena arena) {
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * The policy that coalesces a requested transition with the transition that is already pending on the arena.
+ * It is applied atomically by {@link Arena#requestNextState(Class)}, so the requests from many threads are resolved without locks.
+ * A request of the same class as the pending one is coalesced with it by every policy.
+ *
+ * @see Arena#getTransitionPolicy()
+ */
+@FunctionalInterface
+public interface TransitionPolicy {
+    /**
+     * The policy that always replaces the pending transition with the requested one.
+     * The replaced request is not reported, as it was already accepted when it was made.
+     *
+     * @return the policy
+     */
+    static TransitionPolicy lastWins() {
+        return (arena, pending, requested) -> requested;
+    }
+
+    /**
+     * The policy that rejects the requested transition if there is a pending one.
+     * This is the default policy of {@link Arena}.
+     *
+     * @return the policy
+     */
+    static TransitionPolicy rejectIfPending() {
+        return (arena, pending, requested) -> pending == null ? requested : pending;
+    }
+
+    /**
+     * The policy that keeps the transition with the higher priority.
+     * The requested transition wins a tie, and the replaced request is not reported.
+     *
+     * @param priority the function to get the priority of the class of the game state
+     * @return the policy
+     */
+    static TransitionPolicy priority(ToIntFunction<Class<? extends GameState>> priority) {
+        return (arena, pending, requested) -> pending == null || priority.applyAsInt(requested) >= priority.applyAsInt(pending) ? requested : pending;
+    }
+
+    /**
+     * Resolve the next state from the pending transition and the requested one.
+     * It can be called more than once for a request if other threads change the pending transition at the same time.
+     *
+     * @param arena     the arena
+     * @param pending   the class of the pending next state, or null if there is none
+     * @param requested the class of the requested next state
+     * @return the class of the next state, which is the requested one if it is accepted
+     */
+    Class<? extends GameState> resolve(Arena arena, Class<? extends GameState> pending, Class<? extends GameState> requested);
+}
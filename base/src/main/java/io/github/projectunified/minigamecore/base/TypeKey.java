@@ -0,0 +1,86 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The typed key of a class that is stored in a {@link FeatureUnit}, shared by {@link FeatureKey} and {@link StateKey}.
+ * The key of a class is created once per JVM, and is assigned a dense index when the class is first registered in a unit,
+ * which lets {@link FeatureUnit} store the instances in an array.
+ * Looking up the key of a class that is never registered does not take an index.
+ * The indexes are never reclaimed, so a class that is loaded again by another class loader takes a new index.
+ * {@link FeatureUnit} only stores the indexes below {@link FeatureUnit#MAX_DENSE_ID} in its arrays.
+ *
+ * @param <T> the type of the class
+ * @param <K> the type of the key
+ */
+public abstract class TypeKey<T, K extends TypeKey<?, K>> {
+    /**
+     * The index of a key whose class is not registered in any unit
+     */
+    public static final int UNREGISTERED = -1;
+    private final KeyRegistry<K> registry;
+    private final Class<T> type;
+    private volatile int id = UNREGISTERED;
+    private volatile List<K> superKeys;
+
+    @SuppressWarnings("unchecked")
+    TypeKey(KeyRegistry<K> registry, Class<?> type) {
+        this.registry = registry;
+        this.type = (Class<T>) type;
+    }
+
+    /**
+     * Get the class of the key
+     *
+     * @return the class
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the index of the key
+     *
+     * @return the index, or {@link #UNREGISTERED} if the class is not registered in any unit yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Assign the index of the key if it is not assigned yet, as the class is registered in a unit
+     *
+     * @return the index
+     */
+    int register() {
+        int current = id;
+        if (current != UNREGISTERED) return current;
+        synchronized (this) {
+            if (id == UNREGISTERED) {
+                id = registry.nextId();
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Get the keys of the class and all of its super classes and interfaces of the same base type
+     *
+     * @return the keys
+     */
+    public List<K> getSuperKeys() {
+        List<K> keys = superKeys;
+        if (keys == null) {
+            keys = Collections.unmodifiableList(new ArrayList<>(registry.getSuperKeys(type)));
+            superKeys = keys;
+        }
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + type.getName() + "}";
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The monitor that observes the lifecycle of all {@link FeatureUnit}.
+ * The phase of each feature and game state is nested in the phase of the unit.
+ *
+ * @see FeatureUnit#setGlobalUnitMonitor(UnitMonitor)
+ */
+public interface UnitMonitor {
+    /**
+     * Called when the phase begins
+     *
+     * @param unit      the unit
+     * @param phase     the phase
+     * @param component the {@link Feature} or {@link GameState} of the phase, or null if the phase is of the whole unit
+     */
+    void begin(FeatureUnit unit, UnitPhase phase, Initializer component);
+
+    /**
+     * Called when the phase ends
+     *
+     * @param unit      the unit
+     * @param phase     the phase
+     * @param component the component of the phase, the same as {@link #begin(FeatureUnit, UnitPhase, Initializer)}
+     */
+    void end(FeatureUnit unit, UnitPhase phase, Initializer component);
+}
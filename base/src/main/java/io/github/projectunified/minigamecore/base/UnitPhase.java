@@ -0,0 +1,23 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The lifecycle phases of {@link FeatureUnit} that can be observed by a {@link UnitMonitor}
+ */
+public enum UnitPhase {
+    /**
+     * The call of {@link FeatureUnit#init()}
+     */
+    INIT,
+    /**
+     * The call of {@link FeatureUnit#postInit()}
+     */
+    POST_INIT,
+    /**
+     * The call of {@link FeatureUnit#clear()}
+     */
+    CLEAR,
+    /**
+     * The call of {@link FeatureUnit#reset()}
+     */
+    RESET
+}
@@ -0,0 +1,113 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.ArenaMailbox;
+import io.github.projectunified.minigamecore.base.GameState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress the {@link ArenaMailbox} of an {@link Arena} with many threads that submit commands while another thread ticks the arena.
+ * The commands increment plain counters of the arena, so the counters are only correct if the commands run on the ticking thread one at a time.
+ * It checks that every submitted command runs exactly once and in the order of its submitter.
+ * It exits with the status 1 when a command is lost, repeated or out of order.
+ * Usage: {@code ArenaMailboxStressTest [threads] [capacity] [seconds]}
+ */
+public final class ArenaMailboxStressTest {
+    private ArenaMailboxStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+        CounterArena arena = new CounterArena(threadCount, capacity);
+        arena.init();
+        arena.setNextState(CountingState.class);
+
+        AtomicLong submitted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount + 1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int producer = t;
+            futures.add(executor.submit(() -> {
+                long sequence = 0;
+                while (System.nanoTime() < deadline) {
+                    long expected = sequence;
+                    if (arena.submit(() -> arena.count(producer, expected))) {
+                        sequence++;
+                    } else {
+                        rejected.incrementAndGet();
+                        // Back off while the mailbox is full
+                        Thread.yield();
+                    }
+                }
+                submitted.addAndGet(sequence);
+            }));
+        }
+        Future<?> ticker = executor.submit(() -> {
+            while (System.nanoTime() < deadline) {
+                arena.run();
+            }
+        });
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        ticker.get();
+        executor.shutdown();
+        while (!arena.getMailbox().isEmpty()) {
+            arena.run();
+        }
+
+        ArenaMailbox mailbox = arena.getMailbox();
+        System.out.println("threads=" + threadCount + " capacity=" + mailbox.getCapacity() + " duration=" + seconds + "s");
+        System.out.println("submitted=" + submitted.get() + " rejected=" + rejected.get() + " run=" + arena.total + " max depth=" + mailbox.getMaxDepth());
+        boolean failed = arena.total != submitted.get() || arena.outOfOrder > 0 || mailbox.getRejectedCount() != rejected.get();
+        arena.clear();
+        if (failed) {
+            System.out.println("FAILED: out of order=" + arena.outOfOrder + " mailbox rejected=" + mailbox.getRejectedCount());
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    private static final class CountingState implements GameState {
+    }
+
+    private static final class CounterArena extends Arena {
+        private final long[] nextSequences;
+        private final int capacity;
+        private long total;
+        private long outOfOrder;
+
+        private CounterArena(int producerCount, int capacity) {
+            this.nextSequences = new long[producerCount];
+            this.capacity = capacity;
+        }
+
+        private void count(int producer, long sequence) {
+            if (nextSequences[producer] != sequence) {
+                outOfOrder++;
+            }
+            nextSequences[producer] = sequence + 1;
+            total++;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.singletonList(new CountingState());
+        }
+
+        @Override
+        protected int getMailboxCapacity() {
+            return capacity;
+        }
+    }
+}
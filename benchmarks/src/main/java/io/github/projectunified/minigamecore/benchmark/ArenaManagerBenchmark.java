@@ -0,0 +1,91 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link ArenaManager#addArena(Arena)}, {@link ArenaManager#removeArena(Object)} and {@link ArenaManager#createArena(Object, java.util.function.Function, java.util.function.Consumer)}
+ * on a manager that holds many arenas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaManagerBenchmark {
+    @Param({"10000"})
+    public int arenaCount;
+
+    private SimpleArenaManager manager;
+    private int nextIdentifier;
+
+    @Setup
+    public void setup() {
+        manager = new SimpleArenaManager();
+        manager.init();
+        for (int i = 0; i < arenaCount; i++) {
+            manager.addArena(new SimpleArena(manager, i));
+        }
+        nextIdentifier = arenaCount;
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    public void addAndRemoveArena() {
+        int identifier = nextIdentifier++;
+        manager.addArena(new SimpleArena(manager, identifier));
+        manager.removeArena(identifier);
+    }
+
+    @Benchmark
+    public void createAndRemoveArena() {
+        int identifier = nextIdentifier++;
+        manager.createArena(identifier, id -> new SimpleArena(manager, id), arena -> {
+        });
+        manager.removeArena(identifier);
+    }
+
+    @Benchmark
+    public boolean containsArena() {
+        return manager.containsArena(arenaCount / 2);
+    }
+
+    static class SimpleArenaManager extends ArenaManager<Integer, SimpleArena> {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class SimpleArena extends Arena implements ManagedArena<Integer> {
+        private final int identifier;
+
+        SimpleArena(SimpleArenaManager manager, int identifier) {
+            super(manager);
+            this.identifier = identifier;
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ConcurrentArenaManager;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import io.github.projectunified.minigamecore.manager.extra.ArenaPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compare the latency of getting a new arena from {@link ArenaPool#acquire()} with {@link ConcurrentArenaManager#createArena(Object, java.util.function.Function, java.util.function.Consumer)}.
+ * The requests are spaced by {@code intervalMicros}, so the pool has time to refill in the background.
+ * The arenas are removed after each request, so the manager does not grow.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaPoolBenchmark {
+    @Param({"500"})
+    public int intervalMicros;
+
+    private final AtomicInteger nextIdentifier = new AtomicInteger();
+    private ExecutorService executor;
+    private PoolArenaManager manager;
+    private ArenaPool<Integer, PoolArena> pool;
+    private PoolArena arena;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        manager = new PoolArenaManager();
+        manager.init();
+        pool = new ArenaPool<>(manager, nextIdentifier::incrementAndGet, id -> new PoolArena(manager, id), executor);
+        pool.setSize(4, 16);
+        pool.refill();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        pool.clear();
+        manager.clear();
+    }
+
+    @Setup(Level.Invocation)
+    public void waitForRefill() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(intervalMicros));
+    }
+
+    @TearDown(Level.Invocation)
+    public void release() {
+        if (arena != null) {
+            manager.removeArena(arena.getIdentifier());
+            arena = null;
+        }
+    }
+
+    @Benchmark
+    public PoolArena acquire() {
+        arena = pool.acquire().orElse(null);
+        return arena;
+    }
+
+    @Benchmark
+    public PoolArena createArena() {
+        arena = manager.createArena(nextIdentifier.incrementAndGet(), id -> new PoolArena(manager, id), created -> {
+        }).orElse(null);
+        return arena;
+    }
+
+    static class PoolArenaManager extends ConcurrentArenaManager<Integer, PoolArena> {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class PoolArena extends Arena implements ManagedArena<Integer> {
+        private final int identifier;
+
+        PoolArena(PoolArenaManager manager, int identifier) {
+            super(manager);
+            this.identifier = identifier;
+        }
+
+        @Override
+        protected void initArena() {
+            Blackhole.consumeCPU(10_000);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+    }
+}
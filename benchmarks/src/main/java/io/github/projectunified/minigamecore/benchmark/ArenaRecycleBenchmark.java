@@ -0,0 +1,154 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import io.github.projectunified.minigamecore.manager.RecyclableArena;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare a game cycle that removes the finished arena and creates a new one
+ * with the one that recycles the finished arena through {@link ArenaManager#recycleArena(Object)}
+ * and reuses it through {@link ArenaManager#createArena(Object, Class, java.util.function.Function, java.util.function.Consumer)}.
+ * Every game has a new identifier, and the recycled arena is reset when it is reused for the next game.
+ * Run it with {@code -prof gc} to check the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaRecycleBenchmark {
+    private CycleArenaManager manager;
+    private int nextIdentifier = 0;
+
+    @Setup
+    public void setup() {
+        manager = new CycleArenaManager();
+        manager.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    public void createAndRemoveArena() {
+        int identifier = nextIdentifier++;
+        manager.createArena(identifier, id -> new CycleArena(manager, id), arena -> arena.setNextState(WaitingState.class)).ifPresent(arena -> {
+            manager.removeArena(identifier);
+        });
+    }
+
+    @Benchmark
+    public void createAndRecycleArena() {
+        int identifier = nextIdentifier++;
+        manager.createArena(identifier, CycleArena.class, id -> new CycleArena(manager, id), arena -> arena.setNextState(WaitingState.class)).ifPresent(arena -> {
+            manager.recycleArena(identifier);
+        });
+    }
+
+    static class CycleArenaManager extends ArenaManager<Integer, CycleArena> {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class CycleArena extends Arena implements RecyclableArena<Integer> {
+        private volatile int identifier;
+
+        CycleArena(CycleArenaManager manager, int identifier) {
+            super(manager);
+            this.identifier = identifier;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Arrays.asList(new WaitingState(), new PlayingState(), new EndingState());
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Arrays.asList(new PlayerFeature(), new TeamFeature(), new ScoreFeature());
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public void setIdentifier(Integer identifier) {
+            this.identifier = identifier;
+        }
+    }
+
+    static class WaitingState implements GameState {
+    }
+
+    static class PlayingState implements GameState {
+    }
+
+    static class EndingState implements GameState {
+    }
+
+    static class PlayerFeature implements Feature {
+        private List<Object> players;
+
+        @Override
+        public void init() {
+            players = new ArrayList<>();
+        }
+
+        @Override
+        public void reset() {
+            players.clear();
+        }
+    }
+
+    static class TeamFeature implements Feature {
+        private List<List<Object>> teams;
+
+        @Override
+        public void init() {
+            teams = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                teams.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void reset() {
+            teams.forEach(List::clear);
+        }
+    }
+
+    static class ScoreFeature implements Feature {
+        private int[] scores;
+
+        @Override
+        public void init() {
+            scores = new int[64];
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(scores, 0);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import io.github.projectunified.minigamecore.manager.extra.LoadedArenaManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measure the cold-load time of {@link LoadedArenaManager#reloadArena()} against {@code parallelism}.
+ * {@code workload} is what {@link Arena#init()} does: {@code cpu} burns CPU, {@code io} waits like loading a file or a world.
+ * Compare the results with the number of cores of the machine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArenaReloadBenchmark {
+    @Param({"2000"})
+    public int arenaCount;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"cpu", "io"})
+    public String workload;
+
+    private ReloadArenaManager manager;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        manager = new ReloadArenaManager(arenaCount, parallelism, workload.equals("io"));
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    public void reloadArena() {
+        manager.reloadArena();
+    }
+
+    static class ReloadArenaManager extends LoadedArenaManager<Integer, ReloadArena> {
+        private final int arenaCount;
+        private final int parallelism;
+        private final boolean io;
+
+        ReloadArenaManager(int arenaCount, int parallelism, boolean io) {
+            this.arenaCount = arenaCount;
+            this.parallelism = parallelism;
+            this.io = io;
+        }
+
+        @Override
+        protected List<ReloadArena> loadArenas() {
+            List<ReloadArena> arenas = new ArrayList<>(arenaCount);
+            for (int i = 0; i < arenaCount; i++) {
+                arenas.add(new ReloadArena(this, i, io));
+            }
+            return arenas;
+        }
+
+        @Override
+        protected int getLoadParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class ReloadArena extends Arena implements ManagedArena<Integer> {
+        private final int identifier;
+        private final boolean io;
+
+        ReloadArena(ReloadArenaManager manager, int identifier, boolean io) {
+            super(manager);
+            this.identifier = identifier;
+            this.io = io;
+        }
+
+        @Override
+        protected void initArena() {
+            if (io) {
+                LockSupport.parkNanos(100_000);
+            } else {
+                Blackhole.consumeCPU(10_000);
+            }
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+    }
+}
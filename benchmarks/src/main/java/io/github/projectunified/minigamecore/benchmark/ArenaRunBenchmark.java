@@ -0,0 +1,67 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the tick path of {@link Arena#run()}.
+ * Run it with {@code -prof gc} to check the allocation rate.
+ * {@code metrics} shows the overhead of {@link Arena#enableMetrics()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaRunBenchmark {
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private Arena arena;
+    private boolean ping;
+
+    @Setup
+    public void setup() {
+        arena = new Arena() {
+            @Override
+            protected List<GameState> loadGameStates() {
+                return Arrays.asList(new PingState(), new PongState());
+            }
+        };
+        arena.init();
+        if (metrics) {
+            arena.enableMetrics();
+        }
+        arena.setNextState(PingState.class);
+        arena.run();
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.clear();
+    }
+
+    @Benchmark
+    public void run() {
+        arena.run();
+    }
+
+    @Benchmark
+    public void runWithTransition() {
+        ping = !ping;
+        arena.setNextState(ping ? PongState.class : PingState.class);
+        arena.run();
+    }
+
+    static class PingState implements GameState {
+    }
+
+    static class PongState implements GameState {
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the startup time of bulk-loading arenas built from the same classes.
+ * {@code resolveSuperClasses} repeats the reflection that {@link io.github.projectunified.minigamecore.base.FeatureUnit#init()} used to do for every arena.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ArenaStartupBenchmark {
+    @Param({"5000"})
+    public int arenaCount;
+
+    private List<StartupArena> arenas;
+
+    private static Set<Class<?>> getSuperClasses(Class<?> baseClass, Class<?> childClass) {
+        Set<Class<?>> classSet = new HashSet<>();
+        classSet.add(childClass);
+        Queue<Class<?>> classQueue = new LinkedList<>();
+        classQueue.add(childClass);
+        Class<?> currentClass;
+        while ((currentClass = classQueue.poll()) != null) {
+            List<Class<?>> superClasses = new ArrayList<>(Arrays.asList(currentClass.getInterfaces()));
+            Optional.ofNullable(currentClass.getSuperclass()).ifPresent(superClasses::add);
+            for (Class<?> superClass : superClasses) {
+                if (baseClass.isAssignableFrom(superClass) && classSet.add(superClass)) {
+                    classQueue.add(superClass);
+                }
+            }
+        }
+        return classSet;
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        arenas = new ArrayList<>(arenaCount);
+        for (int i = 0; i < arenaCount; i++) {
+            arenas.add(new StartupArena());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        arenas.forEach(Arena::clear);
+    }
+
+    @Benchmark
+    public void initArenas() {
+        for (Arena arena : arenas) {
+            arena.init();
+        }
+    }
+
+    @Benchmark
+    public void resolveSuperClasses(Blackhole blackhole) {
+        for (StartupArena arena : arenas) {
+            for (GameState gameState : arena.loadedGameStates()) {
+                blackhole.consume(getSuperClasses(GameState.class, gameState.getClass()));
+            }
+            for (Feature feature : arena.loadedFeatures()) {
+                blackhole.consume(getSuperClasses(Feature.class, feature.getClass()));
+            }
+        }
+    }
+
+    interface TeamFeature extends Feature {
+    }
+
+    interface PlayerFeature extends Feature {
+    }
+
+    interface WaitingState extends GameState {
+    }
+
+    interface PlayingState extends GameState {
+    }
+
+    abstract static class AbstractFeature implements Feature {
+    }
+
+    static class SimpleTeamFeature extends AbstractFeature implements TeamFeature {
+    }
+
+    static class SimplePlayerFeature extends AbstractFeature implements PlayerFeature {
+    }
+
+    static class SimpleWaitingState implements WaitingState {
+    }
+
+    static class SimplePlayingState implements PlayingState {
+    }
+
+    static class SimpleEndingState implements GameState {
+    }
+
+    static class StartupArena extends Arena {
+        List<GameState> loadedGameStates() {
+            return loadGameStates();
+        }
+
+        List<Feature> loadedFeatures() {
+            return loadFeatures();
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Arrays.asList(new SimpleWaitingState(), new SimplePlayingState(), new SimpleEndingState());
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Arrays.asList(new SimpleTeamFeature(), new SimplePlayerFeature());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare {@link ArenaManager#countArenasInState(Class)} with scanning {@link ArenaManager#getAllArenas()}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaStateQueryBenchmark {
+    @Param({"10000"})
+    public int arenaCount;
+
+    private SimpleArenaManager manager;
+
+    @Setup
+    public void setup() {
+        manager = new SimpleArenaManager();
+        manager.init();
+        for (int i = 0; i < arenaCount; i++) {
+            SimpleArena arena = new SimpleArena(manager, i);
+            manager.addArena(arena);
+            arena.setNextState(i % 4 == 0 ? SimpleWaitingState.class : PlayingState.class);
+            arena.run();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    public int scanArenas() {
+        int count = 0;
+        for (SimpleArena arena : manager.getAllArenas()) {
+            Class<? extends GameState> state = arena.getCurrentState();
+            if (state != null && WaitingState.class.isAssignableFrom(state)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countArenasInState() {
+        return manager.countArenasInState(WaitingState.class);
+    }
+
+    interface WaitingState extends GameState {
+    }
+
+    static class SimpleWaitingState implements WaitingState {
+    }
+
+    static class PlayingState implements GameState {
+    }
+
+    static class SimpleArenaManager extends ArenaManager<Integer, SimpleArena> {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class SimpleArena extends Arena implements ManagedArena<Integer> {
+        private final int identifier;
+
+        SimpleArena(SimpleArenaManager manager, int identifier) {
+            super(manager);
+            this.identifier = identifier;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Arrays.asList(new SimpleWaitingState(), new PlayingState());
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+    }
+}
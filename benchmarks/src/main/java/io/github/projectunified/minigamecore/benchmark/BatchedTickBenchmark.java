@@ -0,0 +1,139 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.extra.BatchedArenaTicker;
+import io.github.projectunified.minigamecore.extra.TickScheduler;
+import io.github.projectunified.minigamecore.extra.TimePeriod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure a server tick of a scheduler that ticks many arenas, either with a task for each arena or with a single {@link BatchedArenaTicker}.
+ * The scheduler is a stand-in of the server scheduler, which keeps the tasks in a queue ordered by their next run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchedTickBenchmark {
+    @Param({"10000"})
+    public int arenaCount;
+
+    @Param({"20"})
+    public long period;
+
+    @Param({"false", "true"})
+    public boolean batched;
+
+    private QueueTickScheduler scheduler;
+    private BatchedArenaTicker ticker;
+    private List<PeriodArena> arenas;
+
+    @Setup
+    public void setup() {
+        scheduler = new QueueTickScheduler();
+        ticker = new BatchedArenaTicker(scheduler);
+        ticker.init();
+        arenas = new ArrayList<>(arenaCount);
+        for (int i = 0; i < arenaCount; i++) {
+            PeriodArena arena = new PeriodArena(1 + i % period, period);
+            arena.init();
+            arena.setNextState(PeriodState.class);
+            if (batched) {
+                ticker.add(arena);
+            } else {
+                scheduler.schedule(arena, arena.getDelay(), arena.getPeriod());
+            }
+            arenas.add(arena);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ticker.clear();
+        arenas.forEach(Arena::clear);
+    }
+
+    @Benchmark
+    public void serverTick() {
+        scheduler.heartbeat();
+    }
+
+    static class QueueTickScheduler implements TickScheduler {
+        private final PriorityQueue<QueuedTask> queue = new PriorityQueue<>();
+        private long currentTick;
+
+        @Override
+        public Runnable schedule(Runnable task, long delay, long period) {
+            QueuedTask queuedTask = new QueuedTask(task, currentTick + delay, period);
+            queue.add(queuedTask);
+            return () -> queuedTask.cancelled = true;
+        }
+
+        void heartbeat() {
+            currentTick++;
+            QueuedTask task;
+            while ((task = queue.peek()) != null && task.nextRun <= currentTick) {
+                queue.poll();
+                if (task.cancelled) continue;
+                task.task.run();
+                task.nextRun = currentTick + task.period;
+                queue.add(task);
+            }
+        }
+    }
+
+    static class QueuedTask implements Comparable<QueuedTask> {
+        private final Runnable task;
+        private final long period;
+        private long nextRun;
+        private boolean cancelled;
+
+        QueuedTask(Runnable task, long nextRun, long period) {
+            this.task = task;
+            this.nextRun = nextRun;
+            this.period = period;
+        }
+
+        @Override
+        public int compareTo(QueuedTask other) {
+            return Long.compare(nextRun, other.nextRun);
+        }
+    }
+
+    static class PeriodState implements GameState {
+    }
+
+    static class PeriodArena extends Arena implements TimePeriod {
+        private final long delay;
+        private final long period;
+
+        PeriodArena(long delay, long period) {
+            this.delay = delay;
+            this.period = period;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.singletonList(new PeriodState());
+        }
+
+        @Override
+        public long getDelay() {
+            return delay;
+        }
+
+        @Override
+        public long getPeriod() {
+            return period;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * The entry point of the benchmark jar.
+ * It accepts the same arguments as the JMH runner, but writes the results as JSON to {@code jmh-result-<version>.json} by default,
+ * so the baselines of different versions can be compared.
+ * The arguments that list the benchmarks or print the help are passed to {@link Main}.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldHelp()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        OptionsBuilder builder = new OptionsBuilder();
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+            builder.result("jmh-result-" + (version == null ? "dev" : version) + ".json");
+        }
+        Options options = builder.parent(commandLineOptions).build();
+        new Runner(options).run();
+    }
+}
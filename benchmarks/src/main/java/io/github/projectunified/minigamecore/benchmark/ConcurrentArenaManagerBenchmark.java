@@ -0,0 +1,101 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ConcurrentArenaManager;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measure the throughput of {@link ConcurrentArenaManager} when the lookups run while other threads create and remove arenas
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentArenaManagerBenchmark {
+    @Param({"10000"})
+    public int arenaCount;
+
+    private final AtomicInteger nextIdentifier = new AtomicInteger();
+    private SimpleArenaManager manager;
+
+    @Setup
+    public void setup() {
+        manager = new SimpleArenaManager();
+        manager.init();
+        for (int i = 0; i < arenaCount; i++) {
+            manager.addArena(new SimpleArena(manager, i));
+        }
+        nextIdentifier.set(arenaCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Optional<SimpleArena> getArena() {
+        return manager.getArena(ThreadLocalRandom.current().nextInt(arenaCount));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void createAndRemoveArena() {
+        int identifier = nextIdentifier.getAndIncrement();
+        manager.createArena(identifier, id -> new SimpleArena(manager, id), arena -> {
+        });
+        manager.removeArena(identifier);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public Optional<SimpleArena> createSameArena() {
+        int identifier = arenaCount + ThreadLocalRandom.current().nextInt(16);
+        Optional<SimpleArena> arena = manager.createArena(identifier, id -> new SimpleArena(manager, id), created -> {
+        });
+        manager.removeArena(identifier);
+        return arena;
+    }
+
+    static class SimpleArenaManager extends ConcurrentArenaManager<Integer, SimpleArena> {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class SimpleArena extends Arena implements ManagedArena<Integer> {
+        private final int identifier;
+
+        SimpleArena(SimpleArenaManager manager, int identifier) {
+            super(manager);
+            this.identifier = identifier;
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+    }
+}
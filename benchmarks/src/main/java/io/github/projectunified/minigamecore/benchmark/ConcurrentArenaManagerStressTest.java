@@ -0,0 +1,199 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ConcurrentArenaManager;
+import io.github.projectunified.minigamecore.manager.RecyclableArena;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Stress {@link ConcurrentArenaManager} with many threads that create, register, activate, hibernate, tick, remove, recycle and iterate the arenas of the same identifiers.
+ * It checks that every arena is cleared as many times as it is initialized, that no two arenas of the same identifier are held at the same time,
+ * and that the manager never holds an arena that is not initialized.
+ * The recycled arenas are reused for other identifiers, and are still ticked, like a scheduler that has not dropped them yet.
+ * It prints {@code PASSED}, or exits with the status 1 when a check fails.
+ * Usage: {@code ConcurrentArenaManagerStressTest [threads] [identifiers] [seconds]}
+ */
+public final class ConcurrentArenaManagerStressTest {
+    private ConcurrentArenaManagerStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int identifierCount = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+        StressArenaManager manager = new StressArenaManager(identifierCount);
+        manager.init();
+
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger operations = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int identifier = random.nextInt(identifierCount);
+                    switch (random.nextInt(5)) {
+                        case 0:
+                            if (random.nextBoolean()) {
+                                manager.createArena(identifier, StressArena.class, id -> new StressArena(manager, id), arena -> {
+                                });
+                            } else {
+                                manager.registerArena(new StressArena(manager, identifier));
+                            }
+                            break;
+                        case 1:
+                            if (random.nextBoolean()) {
+                                manager.getArena(identifier).ifPresent(StressArena::removeFromManager);
+                            } else {
+                                manager.getArena(identifier).ifPresent(StressArena::recycleFromManager);
+                            }
+                            break;
+                        case 2:
+                            if (random.nextBoolean()) {
+                                manager.getArena(identifier).ifPresent(StressArena::tick);
+                            } else {
+                                // Tick the recycled arenas too, which must not tick until they are reused
+                                StressArena arena = manager.recycling.poll();
+                                if (arena != null) {
+                                    arena.tick();
+                                }
+                            }
+                            break;
+                        case 3:
+                            manager.hibernateArena(identifier);
+                            break;
+                        default:
+                            for (StressArena arena : manager.getAllArenas()) {
+                                if (!arena.initialized) {
+                                    failures.incrementAndGet();
+                                }
+                            }
+                            break;
+                    }
+                    operations.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        manager.clear();
+
+        int inits = manager.inits.get();
+        int clears = manager.clears.get();
+        if (inits != clears) {
+            System.out.println("inits=" + inits + " clears=" + clears);
+            failures.incrementAndGet();
+        }
+        System.out.println("threads=" + threadCount + " identifiers=" + identifierCount + " duration=" + seconds + "s");
+        System.out.println("operations=" + operations.get() + " arenas initialized=" + inits + " reused=" + manager.reuses.get() + " duplicated arenas=" + manager.duplicates.get());
+        failures.addAndGet(manager.duplicates.get());
+        if (failures.get() > 0) {
+            System.out.println("FAILED: " + failures.get() + " failures");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    private static final class StressArenaManager extends ConcurrentArenaManager<Integer, StressArena> {
+        private final AtomicIntegerArray live;
+        private final Queue<StressArena> recycling = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inits = new AtomicInteger();
+        private final AtomicInteger clears = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final AtomicInteger reuses = new AtomicInteger();
+
+        private StressArenaManager(int identifierCount) {
+            this.live = new AtomicIntegerArray(identifierCount);
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static final class StressArena extends Arena implements RecyclableArena<Integer> {
+        private final StressArenaManager manager;
+        private final Object tickLock = new Object();
+        private volatile int identifier;
+        private volatile boolean initialized;
+        private boolean held;
+
+        private StressArena(StressArenaManager manager, int identifier) {
+            super(manager);
+            this.manager = manager;
+            this.identifier = identifier;
+        }
+
+        private void tick() {
+            // Tick the arena on one thread at a time, like its scheduler does
+            synchronized (tickLock) {
+                run();
+            }
+        }
+
+        private synchronized void hold() {
+            held = true;
+            if (manager.live.incrementAndGet(identifier) > 1) {
+                manager.duplicates.incrementAndGet();
+            }
+        }
+
+        private synchronized void release() {
+            if (!held) return;
+            held = false;
+            manager.live.decrementAndGet(identifier);
+        }
+
+        @Override
+        protected void initArena() {
+            manager.inits.incrementAndGet();
+            hold();
+            initialized = true;
+        }
+
+        @Override
+        protected void suspendArena() {
+            // Only the manager suspends the arena, which is when it is removed to be recycled
+            release();
+            manager.recycling.add(this);
+        }
+
+        @Override
+        protected void clearArena() {
+            release();
+            manager.clears.incrementAndGet();
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public void setIdentifier(Integer identifier) {
+            this.identifier = identifier;
+            manager.reuses.incrementAndGet();
+            hold();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.editor.Editor;
+import io.github.projectunified.minigamecore.editor.EditorAction;
+import io.github.projectunified.minigamecore.editor.EditorActor;
+import io.github.projectunified.minigamecore.editor.extra.editor.ListEditor;
+import io.github.projectunified.minigamecore.editor.extra.editor.ValueEditor;
+import io.github.projectunified.minigamecore.editor.extra.status.EditorStatusListDisplay;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link Editor#execute(EditorActor, String[])} and {@link Editor#complete(EditorActor, String[])} through nested editors,
+ * and {@link io.github.projectunified.minigamecore.editor.extra.status.EditorStatusDisplay#display(Editor)} on a large tree
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EditorBenchmark {
+    private static final EditorActor ACTOR = new EditorActor() {
+        @Override
+        public void sendMessage(String message, boolean success) {
+            // EMPTY
+        }
+
+        @Override
+        public boolean sendUsage(EditorAction action) {
+            return true;
+        }
+
+        @Override
+        public boolean sendUsage(Editor<?> editor) {
+            return true;
+        }
+    };
+    private static final EditorStatusListDisplay<String> DISPLAY = new EditorStatusListDisplay<String>() {
+        @Override
+        protected String newSection(List<String> builder, int level) {
+            return Integer.toString(level);
+        }
+
+        @Override
+        protected void appendKey(String section, String key, boolean fromCollection) {
+            // EMPTY
+        }
+
+        @Override
+        protected void appendSize(String section, int size) {
+            // EMPTY
+        }
+
+        @Override
+        protected void appendValue(String section, Object value, Editor<?> editor) {
+            // EMPTY
+        }
+    };
+
+    @Param({"5"})
+    public int depth;
+
+    @Param({"1000"})
+    public int treeSize;
+
+    private Editor<?> nestedEditor;
+    private String[] executeArgs;
+    private String[] completeArgs;
+    private Editor<?> largeEditor;
+
+    @Setup
+    public void setup() {
+        Editor<?> editor = new StringEditor();
+        List<String> path = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            editor = new NestedEditor(editor);
+            path.add("child");
+        }
+        nestedEditor = editor;
+
+        List<String> execute = new ArrayList<>(path);
+        execute.add("set");
+        execute.add("value");
+        executeArgs = execute.toArray(new String[0]);
+
+        List<String> complete = new ArrayList<>(path);
+        complete.add("");
+        completeArgs = complete.toArray(new String[0]);
+
+        StringListEditor listEditor = new StringListEditor();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < treeSize; i++) {
+            values.add("value-" + i);
+        }
+        listEditor.migrate(values);
+        largeEditor = new NestedEditor(listEditor);
+    }
+
+    @Benchmark
+    public boolean execute() {
+        return nestedEditor.execute(ACTOR, executeArgs);
+    }
+
+    @Benchmark
+    public Collection<String> complete() {
+        return nestedEditor.complete(ACTOR, completeArgs);
+    }
+
+    @Benchmark
+    public List<String> display() {
+        return DISPLAY.display(largeEditor);
+    }
+
+    static class StringEditor extends ValueEditor<String> {
+        @Override
+        protected String create(EditorActor actor, String[] args) {
+            return String.join(" ", args);
+        }
+
+        @Override
+        protected Collection<String> createComplete(EditorActor actor, String[] args) {
+            return Collections.singletonList("value");
+        }
+
+        @Override
+        protected String edit(String data, EditorActor actor, String[] args) {
+            return data;
+        }
+
+        @Override
+        protected Collection<String> editComplete(String data, EditorActor actor, String[] args) {
+            return Collections.emptyList();
+        }
+    }
+
+    static class StringListEditor extends ListEditor<String> {
+        @Override
+        protected String create(EditorActor actor, String[] args) {
+            return String.join(" ", args);
+        }
+
+        @Override
+        protected Collection<String> createComplete(EditorActor actor, String[] args) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected String edit(String data, EditorActor actor, String[] args) {
+            return data;
+        }
+
+        @Override
+        protected Collection<String> editComplete(String data, EditorActor actor, String[] args) {
+            return Collections.emptyList();
+        }
+    }
+
+    static class NestedEditor implements Editor<Object> {
+        private final Editor<?> child;
+        private final Map<String, EditorAction> actions = new HashMap<>();
+
+        NestedEditor(Editor<?> child) {
+            this.child = child;
+            actions.put("child", child);
+        }
+
+        @Override
+        public Map<String, EditorAction> actions() {
+            return actions;
+        }
+
+        @Override
+        public void reset() {
+            child.reset();
+        }
+
+        @Override
+        public Object status() {
+            return Collections.singletonMap("child", child);
+        }
+
+        @Override
+        public Optional<Object> export(EditorActor actor) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void migrate(Object data) {
+            // EMPTY
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.FeatureKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the {@link FeatureKey} lookup with the {@link Class} lookup and the {@link IdentityHashMap} that the unit used to have
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureLookupBenchmark {
+    private static final FeatureKey<LookupFeature3> KEY = FeatureKey.of(LookupFeature3.class);
+    private final Map<Class<? extends Feature>, Feature> featureMap = new IdentityHashMap<>();
+    private Arena arena;
+
+    @Setup
+    public void setup() {
+        arena = new Arena() {
+            @Override
+            protected List<Feature> loadFeatures() {
+                return Arrays.asList(new LookupFeature1(), new LookupFeature2(), new LookupFeature3(), new LookupFeature4());
+            }
+        };
+        arena.init();
+        for (Class<? extends Feature> featureClass : arena.getFeatures(false)) {
+            featureMap.put(featureClass, arena.getFeature(featureClass));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.clear();
+    }
+
+    @Benchmark
+    public LookupFeature3 identityHashMap() {
+        Feature feature = featureMap.get(LookupFeature3.class);
+        return LookupFeature3.class.isInstance(feature) ? LookupFeature3.class.cast(feature) : null;
+    }
+
+    @Benchmark
+    public LookupFeature3 classLookup() {
+        return arena.getFeature(LookupFeature3.class);
+    }
+
+    @Benchmark
+    public LookupFeature3 keyLookup() {
+        return arena.getFeature(KEY);
+    }
+
+    static class LookupFeature1 implements Feature {
+    }
+
+    static class LookupFeature2 implements Feature {
+    }
+
+    static class LookupFeature3 implements Feature {
+    }
+
+    static class LookupFeature4 implements Feature {
+    }
+}
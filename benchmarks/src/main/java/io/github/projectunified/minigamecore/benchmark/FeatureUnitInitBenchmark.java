@@ -0,0 +1,72 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measure {@link io.github.projectunified.minigamecore.base.FeatureUnit#init()} and {@link io.github.projectunified.minigamecore.base.FeatureUnit#clear()} with many features
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureUnitInitBenchmark {
+    private static final List<Supplier<Feature>> FEATURE_SUPPLIERS = new ArrayList<>();
+
+    static {
+        // Distinct anonymous classes, so every feature is registered under its own key
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+        FEATURE_SUPPLIERS.add(() -> new Feature() {
+        });
+    }
+
+    @Param({"10", "50", "100"})
+    public int featureCount;
+
+    private Arena arena;
+
+    @Setup
+    public void setup() {
+        arena = new Arena() {
+            @Override
+            protected List<Feature> loadFeatures() {
+                List<Feature> features = new ArrayList<>(featureCount);
+                for (int i = 0; i < featureCount; i++) {
+                    features.add(FEATURE_SUPPLIERS.get(i % FEATURE_SUPPLIERS.size()).get());
+                }
+                return features;
+            }
+        };
+    }
+
+    @Benchmark
+    public void initAndClear() {
+        arena.init();
+        arena.clear();
+    }
+}
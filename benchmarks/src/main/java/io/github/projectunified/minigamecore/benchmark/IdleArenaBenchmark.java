@@ -0,0 +1,165 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.feature.TimerFeature;
+import io.github.projectunified.minigamecore.standalone.ArenaTickScheduler;
+import io.github.projectunified.minigamecore.standalone.StandaloneArena;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measure the scheduler work of many {@link StandaloneArena} that wait for their {@link TimerFeature} in a waiting state.
+ * The waiting state is ticked with the period of the arena ({@code busy}), with a 20 times longer period of its own ({@code slow}),
+ * or is idle and woken by the timer ({@code idle}).
+ * In the {@code callback} mode, the waiting state is idle and the game is started by the expiry callback of the timer instead of polling it.
+ * Usage: {@code IdleArenaBenchmark [idle|callback|slow|busy] [arenas] [period-ms] [seconds]}
+ */
+public final class IdleArenaBenchmark {
+    private static final AtomicLong TICKS = new AtomicLong();
+    private static final AtomicInteger STARTED = new AtomicInteger();
+
+    private IdleArenaBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String mode = args.length > 0 ? args[0].toLowerCase() : "idle";
+        boolean callback = mode.equals("callback");
+        boolean idle = callback || mode.equals("idle");
+        long waitingPeriod = mode.equals("slow") ? 20 : 0;
+        int arenaCount = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        long period = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        waitingPeriod *= period;
+        long seconds = args.length > 3 ? Long.parseLong(args[3]) : 10;
+
+        ArenaTickScheduler scheduler = new ArenaTickScheduler(Runtime.getRuntime().availableProcessors(), "Benchmark-Tick");
+        long waitMillis = TimeUnit.SECONDS.toMillis(seconds);
+        List<WaitingArena> arenas = new ArrayList<>(arenaCount);
+        for (int i = 0; i < arenaCount; i++) {
+            WaitingArena arena = new WaitingArena(scheduler, idle, callback, waitingPeriod, period);
+            arena.init();
+            // Only a tenth of the arenas start their games during the run
+            arena.waitMillis = i % 10 == 0 ? ThreadLocalRandom.current().nextLong(waitMillis / 2) : waitMillis * 10;
+            arena.setNextState(WaitingState.class);
+            arenas.add(arena);
+        }
+
+        com.sun.management.OperatingSystemMXBean osBean = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long startCpu = osBean.getProcessCpuTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        long cpu = osBean.getProcessCpuTime() - startCpu;
+        int scheduled = scheduler.getScheduledCount();
+        long suspended = arenas.stream().filter(Arena::isSuspended).count();
+        arenas.forEach(Arena::clear);
+        scheduler.shutdown();
+
+        System.out.println("mode=" + mode + " arenas=" + arenaCount + " period=" + period + "ms duration=" + seconds + "s");
+        System.out.println("ticks=" + TICKS.get() + " cpu=" + TimeUnit.NANOSECONDS.toMillis(cpu) + "ms");
+        System.out.println("scheduled=" + scheduled + " suspended=" + suspended + " started games=" + STARTED.get() + "/" + (arenaCount + 9) / 10);
+    }
+
+    private static final class WaitingState implements GameState {
+        private final boolean idle;
+        private final boolean callback;
+        private final long period;
+
+        private WaitingState(boolean idle, boolean callback, long period) {
+            this.idle = idle;
+            this.callback = callback;
+            this.period = period;
+        }
+
+        @Override
+        public void start(Arena arena) {
+            TICKS.incrementAndGet();
+            WaitingArena waitingArena = (WaitingArena) arena;
+            arena.getFeature(TimerFeature.class).setDuration(waitingArena.waitMillis);
+        }
+
+        @Override
+        public void update(Arena arena) {
+            TICKS.incrementAndGet();
+            if (!callback && arena.getFeature(TimerFeature.class).isNotRunning()) {
+                arena.setNextState(PlayingState.class);
+            }
+        }
+
+        @Override
+        public boolean isIdle(Arena arena) {
+            return idle;
+        }
+
+        @Override
+        public long getPeriod(Arena arena) {
+            return period;
+        }
+    }
+
+    private static final class PlayingState implements GameState {
+        @Override
+        public void start(Arena arena) {
+            TICKS.incrementAndGet();
+            STARTED.incrementAndGet();
+        }
+
+        @Override
+        public void update(Arena arena) {
+            TICKS.incrementAndGet();
+        }
+    }
+
+    private static final class WaitingArena extends StandaloneArena {
+        private final ArenaTickScheduler scheduler;
+        private final boolean idle;
+        private final boolean callback;
+        private final long waitingPeriod;
+        private final long period;
+        private volatile long waitMillis;
+
+        private WaitingArena(ArenaTickScheduler scheduler, boolean idle, boolean callback, long waitingPeriod, long period) {
+            this.scheduler = scheduler;
+            this.idle = idle;
+            this.callback = callback;
+            this.waitingPeriod = waitingPeriod;
+            this.period = period;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Arrays.asList(new WaitingState(idle, callback, waitingPeriod), new PlayingState());
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            TimerFeature timerFeature = new TimerFeature(this);
+            if (callback) {
+                timerFeature.addExpiryCallback(() -> setNextState(PlayingState.class));
+            }
+            return Collections.singletonList(timerFeature);
+        }
+
+        @Override
+        protected ArenaTickScheduler getTickScheduler() {
+            return scheduler;
+        }
+
+        @Override
+        public long getDelay() {
+            return period;
+        }
+
+        @Override
+        public long getPeriod() {
+            return period;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import io.github.projectunified.minigamecore.manager.extra.LoadedArenaManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the full reload with the incremental reload of {@link LoadedArenaManager} when {@code changedCount} arenas are changed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IncrementalReloadBenchmark {
+    @Param({"2000"})
+    public int arenaCount;
+
+    @Param({"0", "20"})
+    public int changedCount;
+
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    private DefinitionArenaManager manager;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        manager = new DefinitionArenaManager(arenaCount, incremental);
+        manager.init();
+        manager.version++;
+        manager.changedCount = changedCount;
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    public void reloadArena() {
+        manager.reloadArena();
+    }
+
+    static class DefinitionArenaManager extends LoadedArenaManager<Integer, DefinitionArena> {
+        private final int arenaCount;
+        private final boolean incremental;
+        private int version;
+        private int changedCount;
+
+        DefinitionArenaManager(int arenaCount, boolean incremental) {
+            this.arenaCount = arenaCount;
+            this.incremental = incremental;
+        }
+
+        @Override
+        protected List<DefinitionArena> loadArenas() {
+            List<DefinitionArena> arenas = new ArrayList<>(arenaCount);
+            for (int i = 0; i < arenaCount; i++) {
+                arenas.add(new DefinitionArena(this, i, i < changedCount ? version : 0));
+            }
+            return arenas;
+        }
+
+        @Override
+        protected boolean isIncrementalReload() {
+            return incremental;
+        }
+
+        @Override
+        protected Object getArenaFingerprint(DefinitionArena arena) {
+            return arena.definitionVersion;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class DefinitionArena extends Arena implements ManagedArena<Integer> {
+        private final int identifier;
+        private final int definitionVersion;
+
+        DefinitionArena(DefinitionArenaManager manager, int identifier, int definitionVersion) {
+            super(manager);
+            this.identifier = identifier;
+            this.definitionVersion = definitionVersion;
+        }
+
+        @Override
+        protected void initArena() {
+            Blackhole.consumeCPU(10_000);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+    }
+}
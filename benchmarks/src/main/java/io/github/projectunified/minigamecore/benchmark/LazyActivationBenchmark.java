@@ -0,0 +1,145 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import io.github.projectunified.minigamecore.manager.extra.LoadedArenaManager;
+import io.github.projectunified.minigamecore.standalone.ArenaTickScheduler;
+import io.github.projectunified.minigamecore.standalone.StandaloneArena;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the startup time of {@link LoadedArenaManager} with the eager and the lazy activation,
+ * when {@code activeCount} of the defined arenas are used right after the startup
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LazyActivationBenchmark {
+    @Param({"5000"})
+    public int arenaCount;
+
+    @Param({"50"})
+    public int activeCount;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private ArenaTickScheduler scheduler;
+    private DefinitionArenaManager manager;
+
+    @Setup(Level.Trial)
+    public void setupScheduler() {
+        scheduler = new ArenaTickScheduler(1, "Benchmark-Tick");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        manager = new DefinitionArenaManager(this);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Benchmark
+    public void startup() {
+        manager.init();
+        manager.postInit();
+        for (int i = 0; i < activeCount; i++) {
+            manager.getArena(i);
+        }
+    }
+
+    static class DefinitionArenaManager extends LoadedArenaManager<Integer, DefinitionArena> {
+        private final LazyActivationBenchmark benchmark;
+
+        DefinitionArenaManager(LazyActivationBenchmark benchmark) {
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        protected List<DefinitionArena> loadArenas() {
+            List<DefinitionArena> arenas = new ArrayList<>(benchmark.arenaCount);
+            for (int i = 0; i < benchmark.arenaCount; i++) {
+                arenas.add(new DefinitionArena(this, i, benchmark.scheduler));
+            }
+            return arenas;
+        }
+
+        @Override
+        protected boolean isLazyActivation() {
+            return benchmark.lazy;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.emptyList();
+        }
+    }
+
+    static class DefinitionArena extends StandaloneArena implements ManagedArena<Integer> {
+        private final int identifier;
+        private final ArenaTickScheduler scheduler;
+
+        DefinitionArena(DefinitionArenaManager manager, int identifier, ArenaTickScheduler scheduler) {
+            super(manager);
+            this.identifier = identifier;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Arrays.asList(new Feature() {
+            }, new Feature() {
+            });
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Arrays.asList(new GameState() {
+            }, new GameState() {
+            });
+        }
+
+        @Override
+        protected ArenaTickScheduler getTickScheduler() {
+            return scheduler;
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public long getDelay() {
+            return 50;
+        }
+
+        @Override
+        public long getPeriod() {
+            return 50;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link FeatureUnit#getFeature(Class)} and {@link FeatureUnit#getGameState(Class)} when the instance is owned by an ancestor
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParentLookupBenchmark {
+    private static final FeatureKey<RootFeature> FEATURE_KEY = FeatureKey.of(RootFeature.class);
+
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int depth;
+
+    private final List<FeatureUnit> units = new ArrayList<>();
+    private FeatureUnit leaf;
+
+    @Setup
+    public void setup() {
+        leaf = new RootUnit();
+        units.add(leaf);
+        for (int i = 0; i < depth; i++) {
+            leaf = new ChildUnit(leaf);
+            units.add(leaf);
+        }
+        units.forEach(FeatureUnit::init);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (int i = units.size() - 1; i >= 0; i--) {
+            units.get(i).clear();
+        }
+        units.clear();
+    }
+
+    @Benchmark
+    public RootFeature getFeature() {
+        return leaf.getFeature(RootFeature.class);
+    }
+
+    @Benchmark
+    public RootFeature getFeatureByKey() {
+        return leaf.getFeature(FEATURE_KEY);
+    }
+
+    @Benchmark
+    public RootState getGameState() {
+        return leaf.getGameState(RootState.class);
+    }
+
+    static class RootFeature implements Feature {
+    }
+
+    static class ChildFeature implements Feature {
+    }
+
+    static class RootState implements GameState {
+    }
+
+    static class RootUnit extends FeatureUnit {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.singletonList(new RootState());
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.singletonList(new RootFeature());
+        }
+    }
+
+    static class ChildUnit extends FeatureUnit {
+        ChildUnit(FeatureUnit parent) {
+            super(parent);
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return Collections.singletonList(new ChildFeature());
+        }
+    }
+}
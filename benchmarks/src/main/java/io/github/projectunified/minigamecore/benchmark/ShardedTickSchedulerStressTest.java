@@ -0,0 +1,150 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import io.github.projectunified.minigamecore.standalone.ShardedTickScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress {@link ShardedTickScheduler} with many threads that schedule, cancel and rebalance the tasks of the same identifiers.
+ * It checks that a task runs on its home shard until it is moved, that a task never runs on two threads at the same time,
+ * and that the shards are balanced after the last rebalance.
+ * It exits with the status 1 when a check fails.
+ * Usage: {@code ShardedTickSchedulerStressTest [threads] [shards] [identifiers] [seconds]}
+ */
+public final class ShardedTickSchedulerStressTest {
+    private static final String THREAD_NAME = "Stress-Shard";
+
+    private ShardedTickSchedulerStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int shardCount = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int identifierCount = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long seconds = args.length > 3 ? Long.parseLong(args[3]) : 10;
+
+        ShardedTickScheduler scheduler = new ShardedTickScheduler(shardCount, THREAD_NAME);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger operations = new AtomicInteger();
+        ConcurrentMap<Integer, StressTask> tasks = new ConcurrentHashMap<>();
+
+        // Without rebalancing, every task runs on its home shard
+        for (int key = 0; key < identifierCount; key++) {
+            StressTask task = new StressTask(key, failures);
+            task.future = scheduler.schedule(task, 0, 1);
+            tasks.put(key, task);
+        }
+        TimeUnit.MILLISECONDS.sleep(200);
+        for (StressTask task : tasks.values()) {
+            String expected = THREAD_NAME + "-" + (scheduler.getHomeShard(task.key) + 1);
+            if (!expected.equals(task.lastThread)) {
+                System.out.println("task " + task.key + " runs on " + task.lastThread + " instead of its home shard " + expected);
+                failures.incrementAndGet();
+            }
+        }
+        scheduler.setRebalanceThreshold(Math.max(2, identifierCount / shardCount / 10));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int key = random.nextInt(identifierCount);
+                    int operation = random.nextInt(100);
+                    if (operation < 45) {
+                        StressTask task = new StressTask(key, failures);
+                        if (tasks.putIfAbsent(key, task) == null) {
+                            task.future = scheduler.schedule(task, random.nextInt(5), 1 + random.nextInt(5));
+                        }
+                    } else if (operation < 90) {
+                        StressTask task = tasks.remove(key);
+                        if (task != null) {
+                            while (task.future == null) {
+                                Thread.yield();
+                            }
+                            task.future.cancel(false);
+                        }
+                    } else {
+                        scheduler.rebalance();
+                    }
+                    operations.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        scheduler.rebalance();
+        TimeUnit.MILLISECONDS.sleep(100);
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < scheduler.getShardCount(); i++) {
+            int count = scheduler.getShardTaskCount(i);
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+            System.out.println("shard " + i + ": tasks=" + count + " runs=" + scheduler.getShardRunCount(i) + " busy=" + scheduler.getShardBusyTime(i, TimeUnit.MILLISECONDS) + "ms");
+        }
+        if (max - min > 1) {
+            System.out.println("unbalanced shards: min=" + min + " max=" + max);
+            failures.incrementAndGet();
+        }
+        for (StressTask task : tasks.values()) {
+            String expected = THREAD_NAME + "-" + (scheduler.getShard(task.future) + 1);
+            if (task.lastThread != null && !task.lastThread.equals(expected)) {
+                System.out.println("task " + task.key + " runs on " + task.lastThread + " instead of " + expected);
+                failures.incrementAndGet();
+            }
+        }
+        scheduler.shutdown();
+
+        System.out.println("threads=" + threadCount + " shards=" + shardCount + " identifiers=" + identifierCount + " duration=" + seconds + "s");
+        System.out.println("operations=" + operations.get() + " tasks=" + tasks.size());
+        if (failures.get() > 0) {
+            System.out.println("FAILED: " + failures.get() + " failures");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    private static final class StressTask implements Runnable, ManagedArena<Integer> {
+        private final int key;
+        private final AtomicInteger failures;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile ScheduledFuture<?> future;
+        private volatile String lastThread;
+
+        private StressTask(int key, AtomicInteger failures) {
+            this.key = key;
+            this.failures = failures;
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return key;
+        }
+
+        @Override
+        public void run() {
+            if (!running.compareAndSet(false, true)) {
+                System.out.println("task " + key + " runs on two threads");
+                failures.incrementAndGet();
+                return;
+            }
+            try {
+                lastThread = Thread.currentThread().getName();
+                Thread.yield();
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.feature.TaskSchedulerFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link Arena#run()} with the repeating tasks of a {@link TaskSchedulerFeature}, which run every 5 ticks with different offsets.
+ * The time of a run of a task is included, so compare it with {@code taskCount} of 0.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSchedulerBenchmark {
+    @Param({"0", "100", "1000"})
+    public int taskCount;
+
+    private Arena arena;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        arena = new Arena() {
+            @Override
+            protected List<GameState> loadGameStates() {
+                return Collections.singletonList(new RunningState());
+            }
+
+            @Override
+            protected List<Feature> loadFeatures() {
+                return Collections.singletonList(new TaskSchedulerFeature(this));
+            }
+        };
+        arena.init();
+        arena.setNextState(RunningState.class);
+        arena.run();
+        TaskSchedulerFeature scheduler = arena.getFeature(TaskSchedulerFeature.class);
+        for (int i = 0; i < taskCount; i++) {
+            scheduler.runTimer(() -> counter++, i % 5, 5);
+        }
+        arena.run();
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.clear();
+    }
+
+    @Benchmark
+    public long run() {
+        arena.run();
+        return counter;
+    }
+
+    static class RunningState implements GameState {
+    }
+}
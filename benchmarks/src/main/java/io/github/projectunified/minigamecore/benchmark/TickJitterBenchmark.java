@@ -0,0 +1,168 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.standalone.ArenaTickScheduler;
+import io.github.projectunified.minigamecore.standalone.ShardedTickScheduler;
+import io.github.projectunified.minigamecore.standalone.StandaloneTickScheduler;
+import io.github.projectunified.minigamecore.standalone.StandaloneArena;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measure the thread count and the tick jitter of many {@link StandaloneArena}.
+ * Usage: {@code TickJitterBenchmark [scheduler|sharded|timer] [arenas] [threads] [period-ms] [seconds]}
+ */
+public final class TickJitterBenchmark {
+    private static final int MAX_JITTER_MILLIS = 1000;
+    private static final AtomicLongArray JITTER = new AtomicLongArray(MAX_JITTER_MILLIS + 1);
+
+    private TickJitterBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String mode = args.length > 0 ? args[0] : "scheduler";
+        int arenaCount = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int threadCount = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long period = args.length > 3 ? Long.parseLong(args[3]) : 50;
+        long seconds = args.length > 4 ? Long.parseLong(args[4]) : 10;
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        int baseThreads = threadBean.getThreadCount();
+        StandaloneTickScheduler scheduler = mode.equalsIgnoreCase("sharded")
+                ? new ShardedTickScheduler(threadCount, "Benchmark-Shard")
+                : new ArenaTickScheduler(threadCount, "Benchmark-Tick");
+        boolean useTimer = mode.equalsIgnoreCase("timer");
+
+        List<JitterArena> arenas = new ArrayList<>(arenaCount);
+        for (int i = 0; i < arenaCount; i++) {
+            JitterArena arena = new JitterArena(scheduler, useTimer, period);
+            arena.init();
+            arenas.add(arena);
+        }
+
+        TimeUnit.SECONDS.sleep(seconds);
+        int threads = threadBean.getThreadCount() - baseThreads;
+        if (scheduler instanceof ShardedTickScheduler) {
+            ShardedTickScheduler sharded = (ShardedTickScheduler) scheduler;
+            for (int i = 0; i < sharded.getShardCount(); i++) {
+                System.out.println("shard " + i + ": tasks=" + sharded.getShardTaskCount(i) + " runs=" + sharded.getShardRunCount(i) + " busy=" + sharded.getShardBusyTime(i, TimeUnit.MILLISECONDS) + "ms");
+            }
+        }
+        arenas.forEach(Arena::clear);
+        scheduler.shutdown();
+
+        System.out.println("mode=" + mode + " arenas=" + arenaCount + " period=" + period + "ms duration=" + seconds + "s");
+        System.out.println("tick threads=" + threads);
+        System.out.println("ticks=" + count());
+        System.out.println("jitter p50=" + percentile(0.5) + "ms p99=" + percentile(0.99) + "ms p999=" + percentile(0.999) + "ms max=" + percentile(1) + "ms");
+    }
+
+    private static long count() {
+        long count = 0;
+        for (int i = 0; i < JITTER.length(); i++) {
+            count += JITTER.get(i);
+        }
+        return count;
+    }
+
+    private static long percentile(double percentile) {
+        long target = (long) Math.ceil(count() * percentile);
+        long seen = 0;
+        for (int i = 0; i < JITTER.length(); i++) {
+            seen += JITTER.get(i);
+            if (seen >= target && seen > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static final class JitterState implements GameState {
+        private final long period;
+        private long lastTick;
+
+        private JitterState(long period) {
+            this.period = period;
+        }
+
+        @Override
+        public void start(Arena arena) {
+            lastTick = System.nanoTime();
+        }
+
+        @Override
+        public void update(Arena arena) {
+            long now = System.nanoTime();
+            long jitter = Math.abs(TimeUnit.NANOSECONDS.toMillis(now - lastTick) - period);
+            JITTER.incrementAndGet((int) Math.min(jitter, MAX_JITTER_MILLIS));
+            lastTick = now;
+        }
+    }
+
+    private static final class JitterArena extends StandaloneArena {
+        private final StandaloneTickScheduler scheduler;
+        private final boolean useTimer;
+        private final long period;
+        private Timer timer;
+
+        private JitterArena(StandaloneTickScheduler scheduler, boolean useTimer, long period) {
+            this.scheduler = scheduler;
+            this.useTimer = useTimer;
+            this.period = period;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.singletonList(new JitterState(period));
+        }
+
+        @Override
+        protected StandaloneTickScheduler getTickScheduler() {
+            return scheduler;
+        }
+
+        @Override
+        protected void initArena() {
+            setNextState(JitterState.class);
+            if (useTimer) {
+                timer = new Timer();
+                timer.schedule(new TimerTask() {
+                    @Override
+                    public void run() {
+                        JitterArena.this.run();
+                    }
+                }, getDelay(), getPeriod());
+            } else {
+                super.initArena();
+            }
+        }
+
+        @Override
+        protected void clearArena() {
+            if (timer != null) {
+                timer.cancel();
+            } else {
+                super.clearArena();
+            }
+        }
+
+        @Override
+        public long getDelay() {
+            return period;
+        }
+
+        @Override
+        public long getPeriod() {
+            return period;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.TickClock;
+import io.github.projectunified.minigamecore.feature.TimerFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link TimerFeature#getDuration()}, with the system clock and with a {@link TickClock} during a tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerFeatureBenchmark {
+    private final TimerFeature timerFeature = new TimerFeature();
+    private final TickClock tickClock = new TickClock();
+    private final TimerFeature tickTimerFeature = new TimerFeature(tickClock);
+
+    @Setup
+    public void setup() {
+        timerFeature.setDuration(1, TimeUnit.HOURS);
+        tickTimerFeature.setDuration(1, TimeUnit.HOURS);
+        // The benchmark thread stays in the tick, as if every read is done by the features of a ticking arena
+        tickClock.beginTick();
+    }
+
+    @TearDown
+    public void tearDown() {
+        tickClock.endTick();
+    }
+
+    @Benchmark
+    public long getDuration() {
+        return timerFeature.getDuration();
+    }
+
+    @Benchmark
+    public long getDurationInSeconds() {
+        return timerFeature.getDuration(TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public long getDurationInTick() {
+        return tickTimerFeature.getDuration();
+    }
+}
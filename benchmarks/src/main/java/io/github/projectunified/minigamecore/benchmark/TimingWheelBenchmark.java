@@ -0,0 +1,61 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.ManualClock;
+import io.github.projectunified.minigamecore.feature.TimingWheel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure a tick of a {@link TimingWheel} that holds many timeouts spread over an hour, and the scheduling and cancelling of a timeout.
+ * The wheel is driven by a {@link ManualClock}, so a tick of the benchmark is a tick of the wheel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+    private static final long TICK_MILLIS = 10;
+    private static final long SPAN_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"1000", "100000"})
+    public int timeoutCount;
+
+    private ManualClock clock;
+    private TimingWheel wheel;
+    private Runnable reschedule;
+    private long index;
+
+    @Setup
+    public void setup() {
+        clock = new ManualClock();
+        wheel = new TimingWheel(clock, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        // Every expired timeout schedules itself again, so the wheel always holds the same number of timeouts
+        reschedule = new Runnable() {
+            @Override
+            public void run() {
+                wheel.schedule(this, SPAN_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        };
+        for (int i = 0; i < timeoutCount; i++) {
+            wheel.schedule(reschedule, SPAN_MILLIS * i / timeoutCount, TimeUnit.MILLISECONDS);
+        }
+        wheel.advance();
+    }
+
+    @Benchmark
+    public void tick() {
+        clock.advance(TICK_MILLIS, TimeUnit.MILLISECONDS);
+        wheel.advance();
+    }
+
+    @Benchmark
+    public void scheduleAndCancel() {
+        wheel.schedule(reschedule, SPAN_MILLIS * (index++ & 1023) / 1024, TimeUnit.MILLISECONDS).cancel();
+        if ((index & 63) == 0) {
+            wheel.advance();
+        }
+    }
+}
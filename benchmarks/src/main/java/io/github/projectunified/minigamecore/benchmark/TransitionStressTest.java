@@ -0,0 +1,104 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.base.TransitionPolicy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stress the transition requests of an {@link Arena} with many threads that request the next state while another thread ticks the arena.
+ * The counted requests are set by {@link Arena#compareAndSetNextState(Class, Class)} when there is no pending request,
+ * mixed with the uncounted requests of {@link Arena#requestNextState(Class)} that the arena rejects while another one is pending,
+ * so every counted request must be applied exactly once.
+ * It exits with the status 1 when a transition is lost or applied twice.
+ * Usage: {@code TransitionStressTest [threads] [seconds]}
+ */
+public final class TransitionStressTest {
+    private static final List<Class<? extends GameState>> STATES = Arrays.asList(FirstState.class, SecondState.class, ThirdState.class);
+    private static final AtomicLong APPLIED = new AtomicLong();
+
+    private TransitionStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+
+        Arena arena = new Arena() {
+            @Override
+            protected List<GameState> loadGameStates() {
+                return Arrays.asList(new FirstState(), new SecondState(), new ThirdState(), new UncountedState());
+            }
+
+            @Override
+            protected TransitionPolicy getTransitionPolicy() {
+                return TransitionPolicy.rejectIfPending();
+            }
+        };
+        arena.init();
+
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount + 1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    if (random.nextInt(4) == 0) {
+                        arena.requestNextState(UncountedState.class);
+                        continue;
+                    }
+                    Class<? extends GameState> state = STATES.get(random.nextInt(STATES.size()));
+                    (arena.compareAndSetNextState(null, state) ? accepted : rejected).incrementAndGet();
+                    Thread.yield();
+                }
+            }));
+        }
+        Future<?> ticker = executor.submit(() -> {
+            while (System.nanoTime() < deadline) {
+                arena.run();
+            }
+        });
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        ticker.get();
+        executor.shutdown();
+        arena.run();
+        arena.clear();
+
+        System.out.println("threads=" + threadCount + " duration=" + seconds + "s");
+        System.out.println("accepted=" + accepted.get() + " rejected=" + rejected.get() + " applied=" + APPLIED.get());
+        if (accepted.get() != APPLIED.get()) {
+            System.out.println("FAILED: " + (accepted.get() - APPLIED.get()) + " lost transitions");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    private static class CountingState implements GameState {
+        @Override
+        public void start(Arena arena) {
+            APPLIED.incrementAndGet();
+        }
+    }
+
+    private static final class FirstState extends CountingState {
+    }
+
+    private static final class SecondState extends CountingState {
+    }
+
+    private static final class ThirdState extends CountingState {
+    }
+
+    private static final class UncountedState implements GameState {
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * The benchmarks for the performance-sensitive paths of the library.
+ * <p>
+ * The library has no automated tests for its concurrent paths: the arena mailbox, the transition requests,
+ * {@code ConcurrentArenaManager} and {@code ShardedTickScheduler}.
+ * They are checked by the {@code *StressTest} classes of this package instead, which the build does not run.
+ * Run them by hand from the benchmark jar after changing those paths, for example
+ * {@code java -cp benchmarks.jar io.github.projectunified.minigamecore.benchmark.TransitionStressTest}.
+ */
+package io.github.projectunified.minigamecore.benchmark;
\ No newline at end of file
@@ -5,18 +5,14 @@ import io.github.projectunified.minelib.scheduler.common.task.Task;
 import io.github.projectunified.minelib.scheduler.global.GlobalScheduler;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
 import io.github.projectunified.minigamecore.bukkit.BukkitArena;
-import io.github.projectunified.minigamecore.extra.TimePeriod;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.List;
 
 /**
  * The MineLib implementation of {@link BukkitArena} that uses {@link Task} to run the arena.
- * {@link #getPeriod()} and {@link #getDelay()} will return the time in Bukkit's ticks (20 ticks = 1 seconds).
  */
-public class MineLibArena extends BukkitArena implements TimePeriod {
-    private Task task;
-
+public class MineLibArena extends BukkitArena {
     /**
      * Create a new arena
      *
@@ -36,25 +32,9 @@ public class MineLibArena extends BukkitArena implements TimePeriod {
     }
 
     @Override
-    public long getDelay() {
-        return 20;
-    }
-
-    @Override
-    public long getPeriod() {
-        return 20;
-    }
-
-    @Override
-    protected void initArena() {
+    protected Runnable scheduleTask(long delay, long period) {
         JavaPlugin plugin = JavaPlugin.getProvidingPlugin(MineLibArena.class);
-        this.task = (isAsync() ? AsyncScheduler.get(plugin) : GlobalScheduler.get(plugin)).runTimer(this, getDelay(), getPeriod());
-    }
-
-    @Override
-    protected void clearArena() {
-        if (task != null) {
-            task.cancel();
-        }
+        Task task = (isAsync() ? AsyncScheduler.get(plugin) : GlobalScheduler.get(plugin)).runTimer(this, delay, period);
+        return task::cancel;
     }
 }
@@ -0,0 +1,43 @@
+package io.github.projectunified.minigamecore.bukkit.minelib;
+
+import io.github.projectunified.minelib.scheduler.async.AsyncScheduler;
+import io.github.projectunified.minelib.scheduler.common.task.Task;
+import io.github.projectunified.minelib.scheduler.global.GlobalScheduler;
+import io.github.projectunified.minigamecore.extra.BatchedArenaTicker;
+import io.github.projectunified.minigamecore.extra.TickScheduler;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * The {@link TickScheduler} that uses {@link Task}, to be used by {@link BatchedArenaTicker}
+ */
+public final class MineLibTickScheduler {
+    private MineLibTickScheduler() {
+        // EMPTY
+    }
+
+    /**
+     * Get the scheduler that runs the task on the global region
+     *
+     * @param plugin the plugin
+     * @return the scheduler
+     */
+    public static TickScheduler global(JavaPlugin plugin) {
+        return (task, delay, period) -> {
+            Task mineLibTask = GlobalScheduler.get(plugin).runTimer(task, delay, period);
+            return mineLibTask::cancel;
+        };
+    }
+
+    /**
+     * Get the scheduler that runs the task asynchronously
+     *
+     * @param plugin the plugin
+     * @return the scheduler
+     */
+    public static TickScheduler async(JavaPlugin plugin) {
+        return (task, delay, period) -> {
+            Task mineLibTask = AsyncScheduler.get(plugin).runTimer(task, delay, period);
+            return mineLibTask::cancel;
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.projectunified.minigamecore.bukkit.simple;
+
+import io.github.projectunified.minigamecore.extra.BatchedArenaTicker;
+import io.github.projectunified.minigamecore.extra.TickScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * The {@link TickScheduler} that uses {@link BukkitTask}, to be used by {@link BatchedArenaTicker}
+ */
+public final class BukkitTickScheduler {
+    private BukkitTickScheduler() {
+        // EMPTY
+    }
+
+    /**
+     * Get the scheduler that runs the task on the main thread
+     *
+     * @param plugin the plugin
+     * @return the scheduler
+     */
+    public static TickScheduler sync(Plugin plugin) {
+        return (task, delay, period) -> {
+            BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+            return bukkitTask::cancel;
+        };
+    }
+
+    /**
+     * Get the scheduler that runs the task asynchronously
+     *
+     * @param plugin the plugin
+     * @return the scheduler
+     */
+    public static TickScheduler async(Plugin plugin) {
+        return (task, delay, period) -> {
+            BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period);
+            return bukkitTask::cancel;
+        };
+    }
+}
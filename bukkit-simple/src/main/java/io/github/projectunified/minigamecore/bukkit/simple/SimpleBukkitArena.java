@@ -2,7 +2,6 @@ package io.github.projectunified.minigamecore.bukkit.simple;
 
 import io.github.projectunified.minigamecore.base.FeatureUnit;
 import io.github.projectunified.minigamecore.bukkit.BukkitArena;
-import io.github.projectunified.minigamecore.extra.TimePeriod;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
@@ -11,11 +10,8 @@ import java.util.List;
 
 /**
  * The simple implementation of {@link BukkitArena} that uses {@link BukkitTask} to run the arena.
- * {@link #getPeriod()} and {@link #getDelay()} will return the time in Bukkit's ticks (20 ticks = 1 seconds).
  */
-public class SimpleBukkitArena extends BukkitArena implements TimePeriod {
-    private BukkitTask task;
-
+public class SimpleBukkitArena extends BukkitArena {
     /**
      * Create a new arena
      *
@@ -35,29 +31,14 @@ public class SimpleBukkitArena extends BukkitArena implements TimePeriod {
     }
 
     @Override
-    public long getDelay() {
-        return 20;
-    }
-
-    @Override
-    public long getPeriod() {
-        return 20;
-    }
-
-    @Override
-    protected void initArena() {
+    protected Runnable scheduleTask(long delay, long period) {
         JavaPlugin plugin = JavaPlugin.getProvidingPlugin(SimpleBukkitArena.class);
+        BukkitTask task;
         if (isAsync()) {
-            this.task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this, this.getDelay(), this.getPeriod());
+            task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this, delay, period);
         } else {
-            this.task = Bukkit.getScheduler().runTaskTimer(plugin, this, this.getDelay(), this.getPeriod());
-        }
-    }
-
-    @Override
-    protected void clearArena() {
-        if (this.task != null) {
-            this.task.cancel();
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this, delay, period);
         }
+        return task::cancel;
     }
 }
@@ -4,14 +4,23 @@ import io.github.projectunified.minigamecore.base.Arena;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
 import io.github.projectunified.minigamecore.base.GameState;
 import io.github.projectunified.minigamecore.bukkit.event.ArenaChangeStateEvent;
+import io.github.projectunified.minigamecore.extra.BatchedArenaTicker;
+import io.github.projectunified.minigamecore.extra.TimePeriod;
 import org.bukkit.Bukkit;
 
 import java.util.List;
 
 /**
- * The {@link Arena} for Bukkit
+ * The {@link Arena} for Bukkit.
+ * The arena is ticked by {@link #getBatchedTicker()}, or by the task from {@link #scheduleTask(long, long)}.
+ * {@link #getPeriod()} and {@link #getDelay()} will return the time in Bukkit's ticks (20 ticks = 1 seconds).
+ * The arena is rescheduled with the preferred period of the state, see {@link GameState#getPeriod}.
  */
-public abstract class BukkitArena extends Arena {
+public abstract class BukkitArena extends Arena implements TimePeriod {
+    private volatile Runnable taskCanceller;
+    private volatile BatchedArenaTicker ticker;
+    private volatile long tickPeriod;
+
     /**
      * Create a new arena
      *
@@ -39,6 +48,95 @@ public abstract class BukkitArena extends Arena {
         return true;
     }
 
+    /**
+     * Get the ticker that ticks the arena together with the other arenas, instead of a task for the arena.
+     * The arena is then ticked by the scheduler of the ticker, and {@link #isAsync()} is ignored.
+     * Default is the {@link BatchedArenaTicker} in the features of the arena or its parents, or null if there is none.
+     *
+     * @return the ticker, or null to tick the arena with its own task
+     */
+    protected BatchedArenaTicker getBatchedTicker() {
+        return getFeature(BatchedArenaTicker.class);
+    }
+
+    /**
+     * Schedule the task that ticks the arena, when it is not ticked by {@link #getBatchedTicker()}.
+     * Default is to schedule nothing and return null, for the sub-classes that tick the arena with their own task.
+     *
+     * @param delay  the delay before the first tick, in Bukkit's ticks
+     * @param period the period between the ticks, in Bukkit's ticks
+     * @return the action that cancels the task, or null if there is no task
+     */
+    protected Runnable scheduleTask(long delay, long period) {
+        return null;
+    }
+
+    @Override
+    public long getDelay() {
+        return 20;
+    }
+
+    @Override
+    public long getPeriod() {
+        return 20;
+    }
+
+    @Override
+    protected void initArena() {
+        this.ticker = getBatchedTicker();
+        startTicking(getDelay(), getPeriod());
+    }
+
+    @Override
+    protected void clearArena() {
+        stopTicking();
+        this.ticker = null;
+    }
+
+    @Override
+    protected void suspendArena() {
+        stopTicking();
+    }
+
+    @Override
+    protected void wakeArena() {
+        // Use the period of the pending state, as the arena is woken to change to it
+        startTicking(1, getStatePeriod(getNextStateInstance().orElseGet(() -> getCurrentStateInstance().orElse(null))));
+    }
+
+    @Override
+    protected void changeStateArena(GameState state) {
+        long period = getStatePeriod(state);
+        if (period == this.tickPeriod) return;
+        stopTicking();
+        startTicking(period, period);
+    }
+
+    private long getStatePeriod(GameState state) {
+        long period = state != null ? state.getPeriod(this) : 0;
+        return period > 0 ? period : getPeriod();
+    }
+
+    private void startTicking(long delay, long period) {
+        this.tickPeriod = period;
+        if (this.ticker != null) {
+            this.ticker.add(this, delay, period);
+            return;
+        }
+        this.taskCanceller = scheduleTask(delay, period);
+    }
+
+    private void stopTicking() {
+        if (this.ticker != null) {
+            this.ticker.remove(this);
+        }
+        Runnable currentCanceller = this.taskCanceller;
+        if (currentCanceller != null) {
+            currentCanceller.run();
+            this.taskCanceller = null;
+        }
+    }
+
     @Override
     protected boolean callStateChanged(GameState oldStage, GameState newStage) {
         ArenaChangeStateEvent event = new ArenaChangeStateEvent(this, oldStage, newStage);
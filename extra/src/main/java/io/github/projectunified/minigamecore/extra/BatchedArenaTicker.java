@@ -0,0 +1,228 @@
+package io.github.projectunified.minigamecore.extra;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The feature that ticks many arenas from a single repeating task of the {@link TickScheduler}, instead of a task for each arena.
+ * Add it to the features of the arena manager, so the arenas of the manager can find it with {@link Arena#getFeature(Class)}.
+ * The task runs every tick of the scheduler, and each arena is ticked with its own {@link TimePeriod} in the ticks of the scheduler.
+ * If a tick takes longer than the tick budget, the rest of the arenas are ticked in the next tick, starting from the first arena that is not ticked.
+ */
+public class BatchedArenaTicker implements Feature, Runnable {
+    private final TickScheduler scheduler;
+    private final Map<Arena, Entry> entryMap = new ConcurrentHashMap<>();
+    private final Queue<Entry> pendingEntries = new ConcurrentLinkedQueue<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private volatile boolean hasRemovedEntries = false;
+    private volatile long tickBudget = 0;
+    private volatile long tickCount = 0;
+    private volatile long overrunCount = 0;
+    private int cursor = 0;
+    private Runnable cancelTask;
+
+    /**
+     * Create a new ticker
+     *
+     * @param scheduler the scheduler to run the task
+     */
+    public BatchedArenaTicker(TickScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void init() {
+        cancelTask = scheduler.schedule(this, 1, 1);
+    }
+
+    @Override
+    public void clear() {
+        if (cancelTask != null) {
+            cancelTask.run();
+            cancelTask = null;
+        }
+        entryMap.values().forEach(entry -> entry.removed = true);
+        entryMap.clear();
+        pendingEntries.clear();
+        hasRemovedEntries = true;
+    }
+
+    /**
+     * Add the arena to be ticked
+     *
+     * @param arena      the arena
+     * @param timePeriod the time period of the arena, in the ticks of the scheduler
+     */
+    public void add(Arena arena, TimePeriod timePeriod) {
+        add(arena, timePeriod.getDelay(), timePeriod.getPeriod());
+    }
+
+    /**
+     * Add the arena to be ticked
+     *
+     * @param arena  the arena
+     * @param delay  the delay before the first tick, in the ticks of the scheduler
+     * @param period the period between the ticks, in the ticks of the scheduler
+     */
+    public void add(Arena arena, long delay, long period) {
+        Entry entry = new Entry(arena, Math.max(1, delay), Math.max(1, period));
+        Entry oldEntry = entryMap.put(arena, entry);
+        if (oldEntry != null) {
+            markRemoved(oldEntry);
+        }
+        pendingEntries.add(entry);
+    }
+
+    /**
+     * Add the arena to be ticked with its own time period
+     *
+     * @param arena the arena
+     * @param <A>   the type of the arena
+     */
+    public <A extends Arena & TimePeriod> void add(A arena) {
+        add(arena, arena);
+    }
+
+    /**
+     * Remove the arena, so it is no longer ticked
+     *
+     * @param arena the arena
+     */
+    public void remove(Arena arena) {
+        Entry entry = entryMap.remove(arena);
+        if (entry != null) {
+            markRemoved(entry);
+        }
+    }
+
+    private void markRemoved(Entry entry) {
+        entry.removed = true;
+        hasRemovedEntries = true;
+    }
+
+    /**
+     * Set the time budget of a tick. Default is 0, which ticks all due arenas in every tick.
+     *
+     * @param budget the budget
+     * @param unit   the time unit of the budget
+     */
+    public void setTickBudget(long budget, TimeUnit unit) {
+        this.tickBudget = unit.toNanos(Math.max(0, budget));
+    }
+
+    /**
+     * Get the time budget of a tick
+     *
+     * @param unit the time unit of the budget
+     * @return the budget, or 0 if it is unlimited
+     */
+    public long getTickBudget(TimeUnit unit) {
+        return unit.convert(tickBudget, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the number of the arenas to be ticked
+     *
+     * @return the number of the arenas
+     */
+    public int getArenaCount() {
+        return entryMap.size();
+    }
+
+    /**
+     * Get the number of ticks that have run
+     *
+     * @return the number of ticks
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Get the number of ticks that exceeded the tick budget and left the rest of the arenas to the next tick
+     *
+     * @return the number of ticks
+     */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    @Override
+    public void run() {
+        // Skip the tick if the previous one is still running, which can happen with an async scheduler
+        if (!ticking.compareAndSet(false, true)) return;
+        try {
+            tick();
+        } finally {
+            ticking.set(false);
+        }
+    }
+
+    private void tick() {
+        long tick = tickCount + 1;
+        tickCount = tick;
+
+        Entry pendingEntry;
+        while ((pendingEntry = pendingEntries.poll()) != null) {
+            if (!pendingEntry.removed) {
+                pendingEntry.nextTick = tick + pendingEntry.delay - 1;
+                entries.add(pendingEntry);
+            }
+        }
+        if (hasRemovedEntries) {
+            hasRemovedEntries = false;
+            entries.removeIf(entry -> entry.removed);
+        }
+
+        int size = entries.size();
+        if (size == 0) return;
+        long budget = tickBudget;
+        long deadline = budget > 0 ? System.nanoTime() + budget : 0;
+        int index = cursor < size ? cursor : 0;
+        for (int visited = 1; visited <= size; visited++) {
+            Entry entry = entries.get(index);
+            if (++index == size) {
+                index = 0;
+            }
+            if (entry.removed || entry.nextTick > tick) continue;
+
+            entry.nextTick = tick + entry.period;
+            try {
+                entry.arena.run();
+            } catch (Throwable throwable) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+
+            if (budget > 0 && visited < size && System.nanoTime() - deadline >= 0) {
+                overrunCount++;
+                break;
+            }
+        }
+        cursor = index;
+    }
+
+    private static final class Entry {
+        private final Arena arena;
+        private final long delay;
+        private final long period;
+        private long nextTick;
+        private volatile boolean removed;
+
+        private Entry(Arena arena, long delay, long period) {
+            this.arena = arena;
+            this.delay = delay;
+            this.period = period;
+        }
+    }
+}
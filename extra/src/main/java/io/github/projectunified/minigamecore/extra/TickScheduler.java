@@ -0,0 +1,18 @@
+package io.github.projectunified.minigamecore.extra;
+
+/**
+ * The scheduler that runs a repeating task, such as the scheduler of the server.
+ * The delay and the period are in the ticks of the scheduler.
+ */
+@FunctionalInterface
+public interface TickScheduler {
+    /**
+     * Schedule a repeating task
+     *
+     * @param task   the task
+     * @param delay  the delay before the first run
+     * @param period the period between the runs
+     * @return the action to cancel the task
+     */
+    Runnable schedule(Runnable task, long delay, long period);
+}
@@ -0,0 +1,295 @@
+package io.github.projectunified.minigamecore.feature;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.base.TickableFeature;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The feature that runs delayed and repeating tasks inside the ticks of the arena, on the thread that ticks the arena.
+ * The delays are either in the ticks of the arena or in the time of {@link Arena#getTickClock()}.
+ * A task is bound to the game state that is current when it is scheduled, and is cancelled when the arena changes its state or the feature is cleared.
+ * The tasks can be scheduled from any thread, and the arena is woken if it is suspended.
+ * The feature is idle while only time-based tasks are waiting, and wakes the arena at the earliest due time by a timeout of a {@link TimingWheel}.
+ */
+public class TaskSchedulerFeature implements TickableFeature {
+    private final Arena arena;
+    private final Queue<Task> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Task> tickTasks = new PriorityQueue<>();
+    private final PriorityQueue<Task> timeTasks = new PriorityQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger taskCount = new AtomicInteger();
+    private final AtomicInteger tickTaskCount = new AtomicInteger();
+    private final TimingWheel wheel;
+    private volatile long currentTick = 0;
+    private Class<? extends GameState> currentState;
+    private TimingWheel.Timeout wakeTimeout;
+    private long wakeTime;
+
+    /**
+     * Create a new scheduler that wakes the arena by {@link TimingWheel#getDefault()}
+     *
+     * @param arena the arena that loads the feature
+     */
+    public TaskSchedulerFeature(Arena arena) {
+        this(arena, null);
+    }
+
+    /**
+     * Create a new scheduler
+     *
+     * @param arena the arena that loads the feature
+     * @param wheel the wheel to wake the arena for the time-based tasks
+     */
+    public TaskSchedulerFeature(Arena arena, TimingWheel wheel) {
+        this.arena = arena;
+        this.wheel = wheel;
+    }
+
+    /**
+     * Run the task after the delay
+     *
+     * @param task  the task
+     * @param delay the delay in the ticks of the arena
+     * @return the scheduled task
+     */
+    public Task runLater(Runnable task, long delay) {
+        return runTimer(task, delay, 0);
+    }
+
+    /**
+     * Run the task repeatedly
+     *
+     * @param task   the task
+     * @param delay  the delay before the first run in the ticks of the arena
+     * @param period the period between the runs in the ticks of the arena, or 0 to run once
+     * @return the scheduled task
+     */
+    public Task runTimer(Runnable task, long delay, long period) {
+        return schedule(new Task(task, false, currentTick + Math.max(0, delay), Math.max(0, period)));
+    }
+
+    /**
+     * Run the task after the delay
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return the scheduled task
+     */
+    public Task runLater(Runnable task, long delay, TimeUnit unit) {
+        return runTimer(task, delay, 0, unit);
+    }
+
+    /**
+     * Run the task repeatedly.
+     * The runs are checked on every tick, so a period shorter than the period of the arena runs once per tick.
+     *
+     * @param task   the task
+     * @param delay  the delay before the first run
+     * @param period the period between the runs, or 0 to run once
+     * @param unit   the time unit of the delay and the period
+     * @return the scheduled task
+     */
+    public Task runTimer(Runnable task, long delay, long period, TimeUnit unit) {
+        long due = arena.getTickClock().nanoTime() + Math.max(0, unit.toNanos(delay));
+        return schedule(new Task(task, true, due, Math.max(0, unit.toNanos(period))));
+    }
+
+    private Task schedule(Task task) {
+        taskCount.incrementAndGet();
+        if (!task.timeBased) {
+            tickTaskCount.incrementAndGet();
+        }
+        pendingTasks.add(task);
+        arena.wake();
+        return task;
+    }
+
+    /**
+     * Get the number of the tasks that are scheduled and not cancelled yet, including the ones that are not added to the queues by a tick
+     *
+     * @return the number of the tasks
+     */
+    public int getTaskCount() {
+        return taskCount.get();
+    }
+
+    @Override
+    public void tick(Arena arena) {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        Class<? extends GameState> state = arena.getCurrentState();
+        if (state != currentState) {
+            currentState = state;
+            tickTasks.removeIf(task -> discardIfUnbound(task, state));
+            timeTasks.removeIf(task -> discardIfUnbound(task, state));
+        }
+
+        Task task;
+        while ((task = pendingTasks.poll()) != null) {
+            if (task.isCancelled() || discardIfUnbound(task, state)) continue;
+            (task.timeBased ? timeTasks : tickTasks).add(task);
+        }
+
+        while ((task = tickTasks.peek()) != null && task.due <= tick) {
+            tickTasks.poll();
+            if (run(task)) {
+                task.due = tick + task.period;
+                tickTasks.add(task);
+            }
+        }
+
+        if (timeTasks.isEmpty()) return;
+        long now = arena.getTickClock().nanoTime();
+        while ((task = timeTasks.peek()) != null && task.due - now <= 0) {
+            timeTasks.poll();
+            if (run(task)) {
+                // Skip the missed runs instead of running them all in this tick
+                long due = task.due + task.period;
+                task.due = due - now <= 0 ? now + task.period : due;
+                timeTasks.add(task);
+            }
+        }
+    }
+
+    private boolean discardIfUnbound(Task task, Class<? extends GameState> state) {
+        if (task.state == state) return false;
+        task.finish();
+        return true;
+    }
+
+    private boolean run(Task task) {
+        if (task.isCancelled()) return false;
+        try {
+            task.task.run();
+        } catch (Throwable throwable) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+        if (task.period > 0 && !task.isCancelled() && task.state == arena.getCurrentState()) return true;
+        task.finish();
+        return false;
+    }
+
+    @Override
+    public boolean isIdle(Arena arena) {
+        // The cancelled tasks stay in the queues until they are due, so count the live tick-based tasks instead
+        if (tickTaskCount.get() > 0 || !pendingTasks.isEmpty()) return false;
+        tickTasks.clear();
+        Task task;
+        while ((task = timeTasks.peek()) != null && task.isCancelled()) {
+            timeTasks.poll();
+        }
+        if (task != null) {
+            scheduleWake(task.due);
+        }
+        return true;
+    }
+
+    private void scheduleWake(long due) {
+        TimingWheel.Timeout timeout = wakeTimeout;
+        if (timeout != null && wakeTime == due && !timeout.isExpired()) return;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        long delay = due - arena.getTickClock().nanoTime();
+        wakeTime = due;
+        wakeTimeout = (wheel != null ? wheel : TimingWheel.getDefault()).schedule(arena::wake, delay, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void clear() {
+        Task task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.cancel();
+        }
+        tickTasks.forEach(Task::cancel);
+        tickTasks.clear();
+        timeTasks.forEach(Task::cancel);
+        timeTasks.clear();
+        if (wakeTimeout != null) {
+            wakeTimeout.cancel();
+            wakeTimeout = null;
+        }
+        currentState = null;
+    }
+
+    /**
+     * The task scheduled by {@link TaskSchedulerFeature}
+     */
+    public final class Task implements Comparable<Task> {
+        private static final int STATE_SCHEDULED = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_FINISHED = 2;
+        private final Runnable task;
+        private final boolean timeBased;
+        private final long period;
+        private final long order;
+        private final Class<? extends GameState> state;
+        private final AtomicInteger status = new AtomicInteger(STATE_SCHEDULED);
+        private long due;
+
+        private Task(Runnable task, boolean timeBased, long due, long period) {
+            this.task = task;
+            this.timeBased = timeBased;
+            this.due = due;
+            this.period = period;
+            this.order = sequence.getAndIncrement();
+            this.state = arena.getCurrentState();
+        }
+
+        /**
+         * Cancel the task, so it does not run again
+         */
+        public void cancel() {
+            if (status.compareAndSet(STATE_SCHEDULED, STATE_CANCELLED)) {
+                release();
+            }
+        }
+
+        private void finish() {
+            if (status.compareAndSet(STATE_SCHEDULED, STATE_FINISHED)) {
+                release();
+            }
+        }
+
+        private void release() {
+            taskCount.decrementAndGet();
+            if (!timeBased) {
+                tickTaskCount.decrementAndGet();
+            }
+        }
+
+        /**
+         * Check if the task is cancelled
+         *
+         * @return true if it is
+         */
+        public boolean isCancelled() {
+            return status.get() == STATE_CANCELLED;
+        }
+
+        /**
+         * Get the game state that the task is bound to
+         *
+         * @return the class of the game state, or null if the task is scheduled before the arena has a state
+         */
+        public Class<? extends GameState> getState() {
+            return state;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int compare = timeBased ? Long.compare(due - other.due, 0) : Long.compare(due, other.due);
+            return compare != 0 ? compare : Long.compare(order, other.order);
+        }
+    }
+}
@@ -1,15 +1,96 @@
 package io.github.projectunified.minigamecore.feature;
 
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Clock;
 import io.github.projectunified.minigamecore.base.Feature;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * The timer feature, which provides duration
+ * The timer feature, which provides duration.
+ * The timer is measured by a monotonic {@link Clock}, so it is not affected by the changes of the wall clock.
+ * The callbacks added by {@link #addCallback(long, TimeUnit, Runnable)} are run when the remaining time of the timer reaches their thresholds,
+ * by the timeouts of a {@link TimingWheel}, so the states don't need to poll the timer on every tick.
  */
 public class TimerFeature implements Feature {
-    private final AtomicLong currentEndTime = new AtomicLong();
+    private static final long CLEARED = Long.MIN_VALUE;
+    private final AtomicLong currentEndTime = new AtomicLong(CLEARED);
+    private final AtomicReference<Run> currentRun = new AtomicReference<>();
+    private final List<Callback> callbacks = new CopyOnWriteArrayList<>();
+    private final Clock clock;
+    private final Arena arena;
+    private final TimingWheel wheel;
+    private final Callback wakeCallback = new Callback(0, () -> {
+        // The arena is woken by Arena#execute
+    });
+
+    private TimerFeature(Clock clock, Arena arena, TimingWheel wheel) {
+        this.clock = clock;
+        this.arena = arena;
+        this.wheel = wheel;
+    }
+
+    /**
+     * Create a new timer with {@link Clock#system()}
+     */
+    public TimerFeature() {
+        this(Clock.system());
+    }
+
+    /**
+     * Create a new timer.
+     * The callbacks are run on the thread of {@link TimingWheel#getDefault()}.
+     *
+     * @param clock the clock to measure the timer
+     */
+    public TimerFeature(Clock clock) {
+        this(clock, null, null);
+    }
+
+    /**
+     * Create a new timer.
+     * The callbacks are run on the thread that advances the wheel.
+     *
+     * @param clock the clock to measure the timer
+     * @param wheel the wheel to schedule the callbacks
+     */
+    public TimerFeature(Clock clock, TimingWheel wheel) {
+        this(clock, null, wheel);
+    }
+
+    /**
+     * Create a new timer that reads the {@link Arena#getTickClock()} of the arena and wakes the arena when it expires,
+     * so a suspended arena is ticked to handle the end of the timer.
+     * The callbacks are run on the thread that ticks the arena, by {@link Arena#submit(Runnable)}.
+     *
+     * @param arena the arena
+     * @see Arena#wake()
+     */
+    public TimerFeature(Arena arena) {
+        this(arena.getTickClock(), arena, null);
+    }
+
+    /**
+     * Create a new timer that reads the {@link Arena#getTickClock()} of the arena and wakes the arena when it expires.
+     * The callbacks are run on the thread that ticks the arena, by {@link Arena#submit(Runnable)}.
+     *
+     * @param arena the arena
+     * @param wheel the wheel to schedule the callbacks
+     */
+    public TimerFeature(Arena arena, TimingWheel wheel) {
+        this(arena.getTickClock(), arena, wheel);
+    }
+
+    private long getRemainingTime() {
+        long endTime = currentEndTime.get();
+        if (endTime == CLEARED) return 0;
+        return Math.max(0, endTime - clock.nanoTime());
+    }
 
     /**
      * Get the duration of the timer in milliseconds
@@ -17,9 +98,7 @@ public class TimerFeature implements Feature {
      * @return the duration
      */
     public long getDuration() {
-        long current = System.currentTimeMillis();
-        long endTime = currentEndTime.get();
-        return Math.max(0, endTime - current);
+        return TimeUnit.NANOSECONDS.toMillis(getRemainingTime());
     }
 
     /**
@@ -28,8 +107,86 @@ public class TimerFeature implements Feature {
      * @param duration the duration
      */
     public void setDuration(long duration) {
-        long current = System.currentTimeMillis();
-        currentEndTime.set(current + duration);
+        setDuration(duration, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add the callback that runs when the remaining time of the timer reaches the threshold.
+     * It applies to the durations set after this call, and is skipped if the duration is shorter than the threshold.
+     *
+     * @param remaining the threshold of the remaining time
+     * @param unit      the time unit of the threshold
+     * @param callback  the callback
+     */
+    public void addCallback(long remaining, TimeUnit unit, Runnable callback) {
+        callbacks.add(new Callback(Math.max(0, unit.toNanos(remaining)), callback));
+    }
+
+    /**
+     * Add the callback that runs when the timer expires
+     *
+     * @param callback the callback
+     * @see #addCallback(long, TimeUnit, Runnable)
+     */
+    public void addExpiryCallback(Runnable callback) {
+        addCallback(0, TimeUnit.NANOSECONDS, callback);
+    }
+
+    /**
+     * Remove the callback from all of its thresholds
+     *
+     * @param callback the callback
+     */
+    public void removeCallback(Runnable callback) {
+        callbacks.removeIf(entry -> entry.task == callback);
+    }
+
+    private TimingWheel getWheel() {
+        return wheel != null ? wheel : TimingWheel.getDefault();
+    }
+
+    private void startRun(long endTime, long duration) {
+        Run run = arena != null || !callbacks.isEmpty() ? new Run() : null;
+        // Set the run before scheduling, so the timeouts that expire right away see it as the current run
+        Run oldRun = currentRun.getAndSet(run);
+        if (oldRun != null) {
+            oldRun.cancel();
+        }
+        if (run == null) return;
+        for (Callback callback : callbacks) {
+            if (callback.remaining <= duration) {
+                run.add(schedule(run, endTime, callback, duration - callback.remaining));
+            }
+        }
+        if (arena != null) {
+            run.add(schedule(run, endTime, wakeCallback, duration));
+        }
+    }
+
+    private TimingWheel.Timeout schedule(Run run, long endTime, Callback callback, long delay) {
+        return getWheel().schedule(() -> fire(run, endTime, callback), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void fire(Run run, long endTime, Callback callback) {
+        // Skip if the duration is changed or the timer is cleared
+        if (currentRun.get() != run) return;
+        long delay = endTime - callback.remaining - clock.nanoTime();
+        if (delay > 0) {
+            // The clock of the timer can be behind the clock of the wheel, so wait for the rest of the duration
+            run.add(schedule(run, endTime, callback, delay));
+        } else if (arena == null) {
+            callback.task.run();
+        } else {
+            boolean submitted = arena.submit(() -> {
+                if (currentRun.get() == run) {
+                    callback.task.run();
+                }
+            });
+            if (!submitted) {
+                // Retry on the next tick of the wheel if the mailbox of the arena is full
+                run.add(schedule(run, endTime, callback, getWheel().getTickDuration(TimeUnit.NANOSECONDS)));
+            }
+        }
     }
 
     /**
@@ -39,7 +196,7 @@ public class TimerFeature implements Feature {
      * @return the duration
      */
     public long getDuration(TimeUnit unit) {
-        return unit.convert(getDuration(), TimeUnit.MILLISECONDS);
+        return unit.convert(getRemainingTime(), TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -49,7 +206,11 @@ public class TimerFeature implements Feature {
      * @param unit     the time unit of the duration
      */
     public void setDuration(long duration, TimeUnit unit) {
-        setDuration(unit.toMillis(duration));
+        long nanos = unit.toNanos(duration);
+        long endTime = clock.nanoTime() + nanos;
+        currentEndTime.set(endTime);
+        // A duration that is not positive expires the timer right away
+        startRun(endTime, Math.max(0, nanos));
     }
 
     /**
@@ -58,7 +219,7 @@ public class TimerFeature implements Feature {
      * @return true if it is
      */
     public boolean isRunning() {
-        return getDuration() > 0;
+        return getRemainingTime() > 0;
     }
 
     /**
@@ -72,6 +233,43 @@ public class TimerFeature implements Feature {
 
     @Override
     public void clear() {
-        currentEndTime.lazySet(0);
+        currentEndTime.lazySet(CLEARED);
+        Run oldRun = currentRun.getAndSet(null);
+        if (oldRun != null) {
+            oldRun.cancel();
+        }
+    }
+
+    private static final class Callback {
+        private final long remaining;
+        private final Runnable task;
+
+        private Callback(long remaining, Runnable task) {
+            this.remaining = remaining;
+            this.task = task;
+        }
+    }
+
+    /**
+     * The timeouts of a duration, which are cancelled when the duration is changed
+     */
+    private static final class Run {
+        private final List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        private boolean cancelled;
+
+        private synchronized void add(TimingWheel.Timeout timeout) {
+            if (cancelled) {
+                timeout.cancel();
+            } else {
+                timeouts.removeIf(TimingWheel.Timeout::isExpired);
+                timeouts.add(timeout);
+            }
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            timeouts.forEach(TimingWheel.Timeout::cancel);
+            timeouts.clear();
+        }
     }
 }
@@ -0,0 +1,330 @@
+package io.github.projectunified.minigamecore.feature;
+
+import io.github.projectunified.minigamecore.base.Clock;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The hierarchical timing wheel that runs many one-shot timeouts with a fixed resolution.
+ * The timeouts are kept in the slots of 4 levels of 64 slots, where each slot of a level spans a full turn of the level below,
+ * so scheduling, cancelling and expiring a timeout are O(1), and a tick only visits the slots that are due.
+ * The timeouts can be scheduled and cancelled from any thread, and expire on the thread that calls {@link #advance()},
+ * which is the worker thread after {@link #start(String)}.
+ * A timeout never expires before its deadline on the clock of the wheel, and expires at most one tick after it.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = 4;
+    private final Clock clock;
+    private final long tickNanos;
+    private final long startTime;
+    private final Slot[][] levels = new Slot[LEVEL_COUNT][SLOT_COUNT];
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Slot expiredSlot = new Slot();
+    private long currentTick = 0;
+    private volatile int timeoutCount = 0;
+    private volatile Thread worker;
+    private volatile boolean parked = false;
+
+    /**
+     * Create a new wheel
+     *
+     * @param clock    the clock of the deadlines
+     * @param tick     the duration of a tick, which is the resolution of the wheel
+     * @param tickUnit the time unit of the tick
+     */
+    public TimingWheel(Clock clock, long tick, TimeUnit tickUnit) {
+        this.clock = clock;
+        this.tickNanos = tickUnit.toNanos(tick);
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("The tick must be positive");
+        }
+        this.startTime = clock.nanoTime();
+        for (Slot[] level : levels) {
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                level[i] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * Create a new wheel with {@link Clock#system()}
+     *
+     * @param tick     the duration of a tick, which is the resolution of the wheel
+     * @param tickUnit the time unit of the tick
+     */
+    public TimingWheel(long tick, TimeUnit tickUnit) {
+        this(Clock.system(), tick, tickUnit);
+    }
+
+    /**
+     * Get the shared wheel, which has a resolution of 10 milliseconds and is advanced by a daemon thread
+     *
+     * @return the shared wheel
+     */
+    public static TimingWheel getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Schedule a task to run once after the delay
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return the timeout to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, clock.nanoTime() + Math.max(0, unit.toNanos(delay)));
+        pendingTimeouts.add(timeout);
+        if (parked) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    /**
+     * Get the number of the timeouts in the wheel, not counting the ones that are scheduled or cancelled since the last {@link #advance()}
+     *
+     * @return the number of the timeouts
+     */
+    public int getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * Get the duration of a tick
+     *
+     * @param unit the time unit of the duration
+     * @return the duration
+     */
+    public long getTickDuration(TimeUnit unit) {
+        return unit.convert(tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Advance the wheel to the current time of the clock, and run the tasks of the expired timeouts on the current thread
+     */
+    public synchronized void advance() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() == Timeout.STATE_INIT) {
+                timeout.deadlineTick = getDeadlineTick(timeout.deadline);
+                place(timeout);
+                timeoutCount++;
+            }
+        }
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+                timeoutCount--;
+            }
+        }
+
+        long targetTick = (clock.nanoTime() - startTime) / tickNanos;
+        // Jump over the empty ticks instead of visiting their slots
+        if (timeoutCount == 0 && expiredSlot.head == null && targetTick > currentTick) {
+            currentTick = targetTick;
+        }
+        while (true) {
+            expire();
+            if (currentTick >= targetTick) break;
+            currentTick++;
+            for (int level = LEVEL_COUNT - 1; level > 0; level--) {
+                int shift = level * SLOT_BITS;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(levels[level][(int) (currentTick >>> shift) & SLOT_MASK]);
+                }
+            }
+            cascade(levels[0][(int) currentTick & SLOT_MASK]);
+        }
+    }
+
+    private long getDeadlineTick(long deadline) {
+        long elapsed = deadline - startTime;
+        // Round up, so the timeout never expires before its deadline
+        return elapsed <= 0 ? 0 : (elapsed + tickNanos - 1) / tickNanos;
+    }
+
+    private void place(Timeout timeout) {
+        long deadlineTick = timeout.deadlineTick;
+        if (deadlineTick <= currentTick) {
+            expiredSlot.add(timeout);
+            return;
+        }
+        // The level is the one of the highest slot bits that differ between the deadline and the current tick
+        long difference = deadlineTick ^ currentTick;
+        int level = 0;
+        while (level < LEVEL_COUNT - 1 && (difference >>> ((level + 1) * SLOT_BITS)) != 0) {
+            level++;
+        }
+        levels[level][(int) (deadlineTick >>> (level * SLOT_BITS)) & SLOT_MASK].add(timeout);
+    }
+
+    private void cascade(Slot slot) {
+        Timeout timeout = slot.head;
+        slot.head = null;
+        slot.tail = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            timeout.previous = null;
+            timeout.slot = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void expire() {
+        Timeout timeout;
+        while ((timeout = expiredSlot.head) != null) {
+            expiredSlot.remove(timeout);
+            timeoutCount--;
+            if (!timeout.state.compareAndSet(Timeout.STATE_INIT, Timeout.STATE_EXPIRED)) continue;
+            try {
+                timeout.task.run();
+            } catch (Throwable throwable) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+        }
+    }
+
+    /**
+     * Start a daemon thread that advances the wheel on every tick, and parks while the wheel is empty
+     *
+     * @param threadName the name of the thread
+     */
+    public synchronized void start(String threadName) {
+        if (worker != null) return;
+        Thread thread = new Thread(this::work, threadName);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop the thread started by {@link #start(String)}
+     */
+    public synchronized void stop() {
+        Thread thread = worker;
+        if (thread == null) return;
+        worker = null;
+        thread.interrupt();
+    }
+
+    private void work() {
+        Thread thread = Thread.currentThread();
+        while (worker == thread) {
+            advance();
+            if (timeoutCount == 0 && pendingTimeouts.isEmpty()) {
+                parked = true;
+                // Check again, so a timeout scheduled before the flag is set is not missed
+                if (pendingTimeouts.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            } else {
+                long nextTick = startTime + (currentTick + 1) * tickNanos;
+                LockSupport.parkNanos(this, Math.max(1, nextTick - clock.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * The scheduled task of the wheel
+     */
+    public final class Timeout {
+        private static final int STATE_INIT = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+        private long deadlineTick;
+        private Slot slot;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout, so its task does not run
+         *
+         * @return true if it is cancelled, or false if it is already cancelled or expired
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_INIT, STATE_CANCELLED)) return false;
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * Check if the timeout is cancelled
+         *
+         * @return true if it is
+         */
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        /**
+         * Check if the timeout is expired, which means its task has run or is running
+         *
+         * @return true if it is
+         */
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+    }
+
+    private static final class Slot {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.previous = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.slot = null;
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final TimingWheel INSTANCE = new TimingWheel(10, TimeUnit.MILLISECONDS);
+
+        static {
+            INSTANCE.start("MinigameCore-TimingWheel");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The event of the operations of an {@link io.github.projectunified.minigamecore.manager.ArenaManager}
+ */
+@Name("io.github.projectunified.minigamecore.ArenaManager")
+@Label("Arena Manager Operation")
+@Description("An addition, removal, creation, recycling or reload of arenas that takes longer than the threshold")
+@Category({"MinigameCore", "Manager"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ArenaManagerEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Manager Class")
+    Class<?> managerClass;
+
+    @Label("Arena")
+    @Description("The identifier of the arena, empty if the operation is a reload")
+    String arena;
+}
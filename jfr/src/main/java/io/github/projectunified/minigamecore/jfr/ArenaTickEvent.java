@@ -0,0 +1,25 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The event of {@link io.github.projectunified.minigamecore.base.Arena#run()}
+ */
+@Name("io.github.projectunified.minigamecore.ArenaTick")
+@Label("Arena Tick")
+@Description("A tick of an arena that takes longer than the threshold")
+@Category({"MinigameCore", "Arena"})
+@Threshold("20 ms")
+@StackTrace(false)
+public final class ArenaTickEvent extends Event {
+    @Label("Arena")
+    @Description("The identifier of the arena, if it is managed")
+    String arena;
+
+    @Label("Arena Class")
+    Class<?> arenaClass;
+
+    @Label("State")
+    @Description("The game state of the arena when the tick ends")
+    Class<?> state;
+}
@@ -0,0 +1,28 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The event of the state transition of an arena.
+ * It covers the state change, the end of the old state and the start of the new state.
+ */
+@Name("io.github.projectunified.minigamecore.ArenaTransition")
+@Label("Arena State Transition")
+@Description("A state transition of an arena that takes longer than the threshold")
+@Category({"MinigameCore", "Arena"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ArenaTransitionEvent extends Event {
+    @Label("Arena")
+    @Description("The identifier of the arena, if it is managed")
+    String arena;
+
+    @Label("Arena Class")
+    Class<?> arenaClass;
+
+    @Label("Old State")
+    Class<?> oldState;
+
+    @Label("New State")
+    Class<?> newState;
+}
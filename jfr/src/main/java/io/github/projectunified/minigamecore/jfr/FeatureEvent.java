@@ -0,0 +1,28 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The event of the lifecycle of a {@link io.github.projectunified.minigamecore.base.Feature} or a {@link io.github.projectunified.minigamecore.base.GameState} in a unit
+ */
+@Name("io.github.projectunified.minigamecore.Feature")
+@Label("Feature Lifecycle")
+@Description("An initialization, post-initialization or clear of a feature or a game state that takes longer than the threshold")
+@Category({"MinigameCore", "Lifecycle"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class FeatureEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Arena")
+    @Description("The identifier of the unit, if it is a managed arena")
+    String arena;
+
+    @Label("Unit Class")
+    Class<?> unitClass;
+
+    @Label("Component Class")
+    @Description("The class of the feature or the game state")
+    Class<?> componentClass;
+}
@@ -0,0 +1,24 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * The event of the lifecycle of a {@link io.github.projectunified.minigamecore.base.FeatureUnit}
+ */
+@Name("io.github.projectunified.minigamecore.FeatureUnit")
+@Label("Feature Unit Lifecycle")
+@Description("An initialization, post-initialization or clear of a unit that takes longer than the threshold")
+@Category({"MinigameCore", "Lifecycle"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class FeatureUnitEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Arena")
+    @Description("The identifier of the unit, if it is a managed arena")
+    String arena;
+
+    @Label("Unit Class")
+    Class<?> unitClass;
+}
@@ -0,0 +1,87 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * The listener that sets the global monitors while a recording is running.
+ * This class references the JFR API, so it is only loaded after the API is checked to be available.
+ */
+final class JfrInstaller implements FlightRecorderListener {
+    static final JfrInstaller INSTANCE = new JfrInstaller();
+    private boolean installed = false;
+
+    private JfrInstaller() {
+    }
+
+    static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    synchronized void install() {
+        if (installed) {
+            return;
+        }
+        FlightRecorder.register(ArenaTickEvent.class);
+        FlightRecorder.register(ArenaTransitionEvent.class);
+        FlightRecorder.register(FeatureUnitEvent.class);
+        FlightRecorder.register(FeatureEvent.class);
+        FlightRecorder.register(ArenaManagerEvent.class);
+        installed = true;
+        FlightRecorder.addListener(this);
+        update();
+    }
+
+    synchronized void uninstall() {
+        if (!installed) {
+            return;
+        }
+        installed = false;
+        FlightRecorder.removeListener(this);
+        update();
+    }
+
+    @Override
+    public void recorderInitialized(FlightRecorder recorder) {
+        update();
+    }
+
+    @Override
+    public void recordingStateChanged(Recording recording) {
+        update();
+    }
+
+    private synchronized void update() {
+        boolean recording = false;
+        if (installed && FlightRecorder.isInitialized()) {
+            for (Recording current : FlightRecorder.getFlightRecorder().getRecordings()) {
+                if (current.getState() == RecordingState.RUNNING) {
+                    recording = true;
+                    break;
+                }
+            }
+        }
+
+        JfrMonitor monitor = JfrMonitor.INSTANCE;
+        if (recording) {
+            Arena.setGlobalMonitor(monitor);
+            FeatureUnit.setGlobalUnitMonitor(monitor);
+            ArenaManager.setGlobalMonitor(monitor);
+        } else {
+            if (Arena.getGlobalMonitor() == monitor) {
+                Arena.setGlobalMonitor(null);
+            }
+            if (FeatureUnit.getGlobalUnitMonitor() == monitor) {
+                FeatureUnit.setGlobalUnitMonitor(null);
+            }
+            if (ArenaManager.getGlobalMonitor() == monitor) {
+                ArenaManager.setGlobalMonitor(null);
+            }
+        }
+    }
+}
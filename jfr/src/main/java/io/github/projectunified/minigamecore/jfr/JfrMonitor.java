@@ -0,0 +1,156 @@
+package io.github.projectunified.minigamecore.jfr;
+
+import io.github.projectunified.minigamecore.base.*;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import io.github.projectunified.minigamecore.manager.ArenaManagerMonitor;
+import io.github.projectunified.minigamecore.manager.ArenaManagerOperation;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+import jdk.jfr.Event;
+
+import java.util.Arrays;
+
+/**
+ * The monitor that emits the events.
+ * The phases are nested on the same thread, so the events in progress are kept in a stack per thread.
+ */
+final class JfrMonitor implements ArenaMonitor, UnitMonitor, ArenaManagerMonitor {
+    static final JfrMonitor INSTANCE = new JfrMonitor();
+    private final ThreadLocal<EventStack> stacks = ThreadLocal.withInitial(EventStack::new);
+
+    private JfrMonitor() {
+    }
+
+    private static String getIdentifier(Object unit) {
+        return unit instanceof ManagedArena ? String.valueOf(((ManagedArena<?>) unit).getIdentifier()) : null;
+    }
+
+    @Override
+    public void begin(Arena arena, ArenaPhase phase, GameState state) {
+        if (phase == ArenaPhase.TICK) {
+            ArenaTickEvent event = new ArenaTickEvent();
+            event.begin();
+            stacks.get().push(event);
+        } else if (phase == ArenaPhase.STATE_CHANGE) {
+            ArenaTransitionEvent event = new ArenaTransitionEvent();
+            event.begin();
+            event.oldState = arena.getCurrentState();
+            event.newState = state.getClass();
+            stacks.get().push(event);
+        }
+    }
+
+    @Override
+    public void end(Arena arena, ArenaPhase phase, GameState state) {
+        if (phase == ArenaPhase.TICK) {
+            EventStack stack = stacks.get();
+            Event event;
+            do {
+                // Discard the transitions that are cancelled by Arena#callStateChanged
+                event = stack.pop();
+            } while (event != null && !(event instanceof ArenaTickEvent));
+            if (event == null) {
+                return;
+            }
+            ArenaTickEvent tickEvent = (ArenaTickEvent) event;
+            tickEvent.end();
+            if (tickEvent.shouldCommit()) {
+                tickEvent.arena = getIdentifier(arena);
+                tickEvent.arenaClass = arena.getClass();
+                tickEvent.state = arena.getCurrentState();
+                tickEvent.commit();
+            }
+        } else if (phase == ArenaPhase.STATE_START) {
+            EventStack stack = stacks.get();
+            if (!(stack.peek() instanceof ArenaTransitionEvent)) {
+                return;
+            }
+            ArenaTransitionEvent transitionEvent = (ArenaTransitionEvent) stack.pop();
+            transitionEvent.end();
+            if (transitionEvent.shouldCommit()) {
+                transitionEvent.arena = getIdentifier(arena);
+                transitionEvent.arenaClass = arena.getClass();
+                transitionEvent.commit();
+            }
+        }
+    }
+
+    @Override
+    public void begin(FeatureUnit unit, UnitPhase phase, Initializer component) {
+        Event event = component == null ? new FeatureUnitEvent() : new FeatureEvent();
+        event.begin();
+        stacks.get().push(event);
+    }
+
+    @Override
+    public void end(FeatureUnit unit, UnitPhase phase, Initializer component) {
+        Event event = stacks.get().pop();
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        if (event instanceof FeatureEvent) {
+            FeatureEvent featureEvent = (FeatureEvent) event;
+            featureEvent.phase = phase.name();
+            featureEvent.arena = getIdentifier(unit);
+            featureEvent.unitClass = unit.getClass();
+            featureEvent.componentClass = component == null ? null : component.getClass();
+        } else if (event instanceof FeatureUnitEvent) {
+            FeatureUnitEvent unitEvent = (FeatureUnitEvent) event;
+            unitEvent.phase = phase.name();
+            unitEvent.arena = getIdentifier(unit);
+            unitEvent.unitClass = unit.getClass();
+        }
+        event.commit();
+    }
+
+    @Override
+    public void begin(ArenaManager<?, ?> manager, ArenaManagerOperation operation, Object identifier) {
+        ArenaManagerEvent event = new ArenaManagerEvent();
+        event.begin();
+        stacks.get().push(event);
+    }
+
+    @Override
+    public void end(ArenaManager<?, ?> manager, ArenaManagerOperation operation, Object identifier) {
+        Event event = stacks.get().pop();
+        if (!(event instanceof ArenaManagerEvent)) {
+            return;
+        }
+        ArenaManagerEvent managerEvent = (ArenaManagerEvent) event;
+        managerEvent.end();
+        if (managerEvent.shouldCommit()) {
+            managerEvent.operation = operation.name();
+            managerEvent.managerClass = manager.getClass();
+            managerEvent.arena = identifier == null ? null : String.valueOf(identifier);
+            managerEvent.commit();
+        }
+    }
+
+    private static final class EventStack {
+        private Event[] events = new Event[8];
+        private int size;
+
+        private void push(Event event) {
+            if (size == events.length) {
+                events = Arrays.copyOf(events, size * 2);
+            }
+            events[size++] = event;
+        }
+
+        private Event peek() {
+            return size == 0 ? null : events[size - 1];
+        }
+
+        private Event pop() {
+            if (size == 0) {
+                return null;
+            }
+            Event event = events[--size];
+            events[size] = null;
+            return event;
+        }
+    }
+}
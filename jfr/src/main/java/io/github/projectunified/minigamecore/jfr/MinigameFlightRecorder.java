@@ -0,0 +1,59 @@
+package io.github.projectunified.minigamecore.jfr;
+
+/**
+ * The entry point to emit the JDK Flight Recorder events of MinigameCore.
+ * When installed, the events are emitted only while a recording is running, so the arenas are not monitored at all otherwise.
+ * The events have thresholds, which can be changed in the recording settings like other JFR events.
+ * On the runtimes without JFR, {@link #install()} does nothing.
+ * <p>
+ * The events are emitted through the global monitors of {@link io.github.projectunified.minigamecore.base.Arena},
+ * {@link io.github.projectunified.minigamecore.base.FeatureUnit} and {@link io.github.projectunified.minigamecore.manager.ArenaManager},
+ * which replace the global monitors set before.
+ */
+public final class MinigameFlightRecorder {
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private MinigameFlightRecorder() {
+        // EMPTY
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return JfrInstaller.isAvailable();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the runtime supports JFR
+     *
+     * @return true if it does
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Emit the events while a recording is running
+     *
+     * @return true if the events are installed, false if the runtime does not support JFR
+     */
+    public static boolean install() {
+        if (!AVAILABLE) {
+            return false;
+        }
+        JfrInstaller.INSTANCE.install();
+        return true;
+    }
+
+    /**
+     * Stop emitting the events
+     */
+    public static void uninstall() {
+        if (AVAILABLE) {
+            JfrInstaller.INSTANCE.uninstall();
+        }
+    }
+}
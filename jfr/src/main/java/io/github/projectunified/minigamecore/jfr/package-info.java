@@ -0,0 +1,5 @@
+/**
+ * Contains the JDK Flight Recorder events of the arenas, the units and the arena managers.
+ * The events are emitted only while a recording is running, see {@link io.github.projectunified.minigamecore.jfr.MinigameFlightRecorder}
+ */
+package io.github.projectunified.minigamecore.jfr;
@@ -0,0 +1,299 @@
+package io.github.projectunified.minigamecore.manager.extra;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Clock;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import io.github.projectunified.minigamecore.manager.ConcurrentArenaManager;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The pool of the arenas created from the same template, which are created and initialized before they are requested,
+ * so {@link #acquire()} does not create the arena on demand.
+ * The idle arenas are prepared by {@link ArenaManager#prepareArena(Arena)} but are only added to the {@link ArenaManager} when they are acquired,
+ * so they are not seen by the lookups, the queries and the hibernation of the manager until then.
+ * The pool keeps as many idle arenas as the requests in the last {@link #getRequestWindow()}, bounded by {@link #getMinSize()} and {@link #getMaxSize()}.
+ * The arenas are prepared on the executor, and an arena that is not available is created on demand by {@link ArenaManager#createArena(Object, Function, java.util.function.Consumer)},
+ * so the manager should be a {@link ConcurrentArenaManager} if {@link #acquire()} is called from many threads.
+ * The idle arenas are not cleared with the manager, so call {@link #clear()} before clearing it.
+ *
+ * @param <T> the type of the identifier of the arena
+ * @param <A> the type of the arena
+ */
+public class ArenaPool<T, A extends Arena & ManagedArena<T>> {
+    private static final int BUCKET_COUNT = 10;
+    private final ArenaManager<T, A> manager;
+    private final Supplier<T> identifierSupplier;
+    private final Function<T, A> arenaCreator;
+    private final Executor executor;
+    private final Clock clock;
+    private final Queue<A> idleArenas = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final long[] bucketTimes = new long[BUCKET_COUNT];
+    private final int[] bucketCounts = new int[BUCKET_COUNT];
+    private volatile int minSize = 1;
+    private volatile int maxSize = 16;
+    private volatile long requestWindow = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Create a new pool
+     *
+     * @param manager            the manager to add the arenas
+     * @param identifierSupplier the supplier of the unique identifiers of the new arenas
+     * @param arenaCreator       the creator of the arena of the template
+     * @param executor           the executor to create the arenas in the background
+     * @param clock              the clock to count the recent requests
+     */
+    public ArenaPool(ArenaManager<T, A> manager, Supplier<T> identifierSupplier, Function<T, A> arenaCreator, Executor executor, Clock clock) {
+        this.manager = manager;
+        this.identifierSupplier = identifierSupplier;
+        this.arenaCreator = arenaCreator;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Create a new pool with {@link Clock#system()}
+     *
+     * @param manager            the manager to add the arenas
+     * @param identifierSupplier the supplier of the unique identifiers of the new arenas
+     * @param arenaCreator       the creator of the arena of the template
+     * @param executor           the executor to create the arenas in the background
+     */
+    public ArenaPool(ArenaManager<T, A> manager, Supplier<T> identifierSupplier, Function<T, A> arenaCreator, Executor executor) {
+        this(manager, identifierSupplier, arenaCreator, executor, Clock.system());
+    }
+
+    /**
+     * Get the minimum number of idle arenas
+     *
+     * @return the minimum number
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Get the maximum number of idle arenas
+     *
+     * @return the maximum number
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the bounds of the number of idle arenas.
+     * Default is 1 to 16.
+     *
+     * @param minSize the minimum number
+     * @param maxSize the maximum number
+     */
+    public void setSize(int minSize, int maxSize) {
+        if (minSize < 0 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid size: " + minSize + " to " + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the time in milliseconds to count the recent requests
+     *
+     * @return the time in milliseconds
+     */
+    public long getRequestWindow() {
+        return requestWindow;
+    }
+
+    /**
+     * Set the time in milliseconds to count the recent requests.
+     * It should be longer than the time to create an arena.
+     * Default is 10 seconds.
+     *
+     * @param requestWindow the time in milliseconds
+     */
+    public void setRequestWindow(long requestWindow) {
+        if (requestWindow <= 0) {
+            throw new IllegalArgumentException("Invalid request window: " + requestWindow);
+        }
+        this.requestWindow = requestWindow;
+    }
+
+    /**
+     * Get the number of idle arenas that the pool should keep, from the recent requests
+     *
+     * @return the number of idle arenas
+     */
+    public int getTargetSize() {
+        return Math.max(minSize, Math.min(maxSize, countRecentRequests(clock.nanoTime())));
+    }
+
+    /**
+     * Get the number of idle arenas
+     *
+     * @return the number of idle arenas
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Get the number of arenas being created
+     *
+     * @return the number of arenas
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Get the number of requests served by the idle arenas
+     *
+     * @return the number of requests
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of requests that had to create the arenas on demand
+     *
+     * @return the number of requests
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Take an idle arena from the pool and add it to the manager, or create one if there is none.
+     * The arena is no longer tracked by the pool, and the pool is refilled in the background.
+     * A failure of the refill is reported to the uncaught exception handler of the current thread, so the arena is still returned.
+     *
+     * @return the arena, or empty if the arena cannot be created
+     */
+    public Optional<A> acquire() {
+        recordRequest(clock.nanoTime());
+        A arena;
+        while ((arena = idleArenas.poll()) != null) {
+            idleCount.decrementAndGet();
+            // The arena is cleared by the manager if its identifier is taken in the meantime
+            if (manager.publishArena(arena)) {
+                hitCount.incrementAndGet();
+                refillAfterAcquire();
+                return Optional.of(arena);
+            }
+        }
+        missCount.incrementAndGet();
+        Optional<A> created = manager.createArena(identifierSupplier.get(), arenaCreator, newArena -> {
+            // EMPTY
+        });
+        refillAfterAcquire();
+        return created;
+    }
+
+    private void refillAfterAcquire() {
+        try {
+            refill();
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Create the arenas in the background until the idle arenas reach {@link #getTargetSize()}.
+     * It can be called from many threads at the same time, as each new arena reserves its slot before it is created.
+     */
+    public void refill() {
+        int target = getTargetSize();
+        while (true) {
+            int pending = pendingCount.get();
+            if (idleCount.get() + pending >= target) return;
+            if (!pendingCount.compareAndSet(pending, pending + 1)) continue;
+            try {
+                executor.execute(this::createIdleArena);
+            } catch (RuntimeException e) {
+                pendingCount.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Remove the idle arenas that exceed {@link #getTargetSize()}, then refill the pool.
+     * This should be called periodically, so the pool shrinks when the requests decrease.
+     */
+    public void maintain() {
+        int target = getTargetSize();
+        while (idleCount.get() > target) {
+            A arena = idleArenas.poll();
+            if (arena == null) break;
+            idleCount.decrementAndGet();
+            arena.clear();
+        }
+        refill();
+    }
+
+    /**
+     * Clear all idle arenas
+     */
+    public void clear() {
+        A arena;
+        while ((arena = idleArenas.poll()) != null) {
+            idleCount.decrementAndGet();
+            arena.clear();
+        }
+    }
+
+    private void createIdleArena() {
+        try {
+            A arena = arenaCreator.apply(identifierSupplier.get());
+            if (arena != null && manager.prepareArena(arena)) {
+                idleArenas.add(arena);
+                idleCount.incrementAndGet();
+            }
+        } finally {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    private long getBucketTime(long now) {
+        long bucketSize = Math.max(1, TimeUnit.MILLISECONDS.toNanos(requestWindow) / BUCKET_COUNT);
+        // Round down, as the time of the clock can be negative
+        return Math.floorDiv(now, bucketSize);
+    }
+
+    private synchronized void recordRequest(long now) {
+        long bucketTime = getBucketTime(now);
+        int index = (int) Math.floorMod(bucketTime, (long) BUCKET_COUNT);
+        if (bucketTimes[index] != bucketTime) {
+            bucketTimes[index] = bucketTime;
+            bucketCounts[index] = 0;
+        }
+        bucketCounts[index]++;
+    }
+
+    private synchronized int countRecentRequests(long now) {
+        long bucketTime = getBucketTime(now);
+        int count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (bucketTime - bucketTimes[i] < BUCKET_COUNT) {
+                count += bucketCounts[i];
+            }
+        }
+        return count;
+    }
+}
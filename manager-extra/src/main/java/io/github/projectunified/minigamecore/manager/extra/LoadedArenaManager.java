@@ -3,17 +3,26 @@ package io.github.projectunified.minigamecore.manager.extra;
 import io.github.projectunified.minigamecore.base.Arena;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
 import io.github.projectunified.minigamecore.manager.ArenaManager;
+import io.github.projectunified.minigamecore.manager.ArenaManagerMonitor;
+import io.github.projectunified.minigamecore.manager.ArenaManagerOperation;
 import io.github.projectunified.minigamecore.manager.ManagedArena;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The {@link ArenaManager} with loaded arenas on initialization
+ * The {@link ArenaManager} with loaded arenas on initialization.
+ * The arenas are loaded one by one, unless {@link #getLoadParallelism()} is overridden to load them in parallel.
+ * By default, all arenas are cleared and loaded again on reload, unless {@link #isIncrementalReload()} is overridden.
+ * The arenas can also be registered as dormant and activated on first use, see {@link #isLazyActivation()}.
  *
  * @param <T> the type of the identifier of the arena
  * @param <A> the type of the arena
  */
 public abstract class LoadedArenaManager<T, A extends Arena & ManagedArena<T>> extends ArenaManager<T, A> {
+    private ThreadPoolExecutor defaultLoadExecutor;
+
     /**
      * Create a new arena manager
      *
@@ -38,6 +47,17 @@ public abstract class LoadedArenaManager<T, A extends Arena & ManagedArena<T>> e
         reloadArena();
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        synchronized (this) {
+            if (defaultLoadExecutor != null) {
+                defaultLoadExecutor.shutdown();
+                defaultLoadExecutor = null;
+            }
+        }
+    }
+
     /**
      * Load the arenas
      *
@@ -47,10 +67,52 @@ public abstract class LoadedArenaManager<T, A extends Arena & ManagedArena<T>> e
 
     /**
      * Reload the arenas
+     *
+     * @see #isIncrementalReload()
      */
     public void reloadArena() {
-        clearAllArenas();
-        loadArenas().forEach(arena -> {
+        ArenaManagerMonitor monitor = getGlobalMonitor();
+        if (monitor == null) {
+            doReloadArena();
+            return;
+        }
+        monitor.begin(this, ArenaManagerOperation.RELOAD_ARENA, null);
+        try {
+            doReloadArena();
+        } finally {
+            monitor.end(this, ArenaManagerOperation.RELOAD_ARENA, null);
+        }
+    }
+
+    /**
+     * Reload the arenas without notifying the monitor
+     *
+     * @see #reloadArena()
+     */
+    protected void doReloadArena() {
+        List<A> arenas;
+        if (isIncrementalReload()) {
+            arenas = diffArenas(loadArenas());
+        } else {
+            clearAllArenas();
+            arenas = loadArenas();
+        }
+        if (isLazyActivation()) {
+            arenas.forEach(arena -> {
+                if (registerArena(arena)) {
+                    onArenaSucceedToLoad(arena);
+                } else {
+                    onArenaFailToLoad(arena);
+                }
+            });
+            return;
+        }
+        int parallelism = getLoadParallelism();
+        if (parallelism > 1 && arenas.size() > 1) {
+            loadArenasInParallel(arenas, parallelism);
+            return;
+        }
+        arenas.forEach(arena -> {
             if (addArena(arena)) {
                 onArenaSucceedToLoad(arena);
             } else {
@@ -59,6 +121,219 @@ public abstract class LoadedArenaManager<T, A extends Arena & ManagedArena<T>> e
         });
     }
 
+    /**
+     * Check if the loaded arenas are registered as dormant, instead of being initialized on reload.
+     * A dormant arena is initialized and post-initialized on the first {@link #getArena(Object)},
+     * so the startup time and the memory scale with the arenas that are used.
+     * {@link #onArenaSucceedToLoad(Arena)} is called when the arena is registered.
+     * Default is false.
+     *
+     * @return true if they are
+     * @see #registerArena(Arena)
+     */
+    protected boolean isLazyActivation() {
+        return false;
+    }
+
+    /**
+     * Check if the arenas are reloaded incrementally.
+     * If they are, the loaded arenas are compared with the current arenas by the identifier and {@link #isArenaChanged(Arena, Arena)}:
+     * the new arenas are added, the deleted arenas are removed, the changed arenas are replaced,
+     * and the unchanged arenas keep running, with {@link #onArenaUnchanged(Arena)} called instead of the other callbacks.
+     * Default is false, which clears all arenas before loading them.
+     *
+     * @return true if they are
+     */
+    protected boolean isIncrementalReload() {
+        return false;
+    }
+
+    /**
+     * Get the fingerprint of the arena, which represents the definition that the arena is loaded from.
+     * Two arenas of the same identifier and equal fingerprints are considered unchanged.
+     * Default is null, which means the arena is always considered changed.
+     *
+     * @param arena the arena
+     * @return the fingerprint, or null if it is unknown
+     * @see #isArenaChanged(Arena, Arena)
+     */
+    protected Object getArenaFingerprint(A arena) {
+        return null;
+    }
+
+    /**
+     * Check if the loaded arena is changed from the current arena of the same identifier.
+     * Default is to compare the fingerprints from {@link #getArenaFingerprint(Arena)}.
+     *
+     * @param current the current arena
+     * @param loaded  the loaded arena
+     * @return true if it is changed
+     */
+    protected boolean isArenaChanged(A current, A loaded) {
+        Object currentFingerprint = getArenaFingerprint(current);
+        return currentFingerprint == null || !currentFingerprint.equals(getArenaFingerprint(loaded));
+    }
+
+    private List<A> diffArenas(List<A> loadedArenas) {
+        Map<T, A> loadedMap = new HashMap<>();
+        for (A arena : loadedArenas) {
+            loadedMap.putIfAbsent(arena.getIdentifier(), arena);
+        }
+        List<T> currentIdentifiers = new ArrayList<>(getArenaMap().keySet());
+        currentIdentifiers.addAll(getDormantArenaMap().keySet());
+        for (T identifier : currentIdentifiers) {
+            if (!loadedMap.containsKey(identifier)) {
+                removeArena(identifier);
+            }
+        }
+
+        List<A> addedArenas = new ArrayList<>();
+        for (A arena : loadedArenas) {
+            T identifier = arena.getIdentifier();
+            A current = peekArena(identifier);
+            if (current != null && loadedMap.get(identifier) == arena) {
+                if (!isArenaChanged(current, arena)) {
+                    onArenaUnchanged(current);
+                    continue;
+                }
+                removeArena(identifier);
+            }
+            addedArenas.add(arena);
+        }
+        return addedArenas;
+    }
+
+    /**
+     * Get the number of threads to validate and initialize the arenas on reload.
+     * If it is more than 1, the arenas are initialized in parallel on {@link #getLoadExecutor()},
+     * then added to the manager one by one on the thread that reloads the arenas, after all of them are initialized.
+     * The adding is not atomic, so the other threads can see a part of the arenas while they are being added.
+     * The callbacks are called on the thread that reloads the arenas, after the arenas are added.
+     * Default is 1, which loads the arenas one by one.
+     *
+     * @return the number of threads
+     * @see #isLoadOrdered()
+     */
+    protected int getLoadParallelism() {
+        return 1;
+    }
+
+    /**
+     * Check if the callbacks of the parallel loading are called in the order of {@link #loadArenas()}.
+     * Otherwise, they are called in the order that the arenas finish initializing.
+     * Default is true.
+     *
+     * @return true if they are
+     * @see #getLoadParallelism()
+     */
+    protected boolean isLoadOrdered() {
+        return true;
+    }
+
+    /**
+     * Get the executor that initializes the arenas in parallel, which is not shut down by the manager.
+     * Default is null, which uses a pool of {@link #getLoadParallelism()} daemon threads.
+     * The pool is kept for the next reloads, its idle threads are stopped after a minute, and it is shut down when the manager is cleared.
+     *
+     * @return the executor, or null to use the default pool
+     * @see #getLoadParallelism()
+     */
+    protected Executor getLoadExecutor() {
+        return null;
+    }
+
+    private synchronized Executor getDefaultLoadExecutor(int parallelism) {
+        if (defaultLoadExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            defaultLoadExecutor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "MinigameCore-Load-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            defaultLoadExecutor.allowCoreThreadTimeOut(true);
+        } else if (defaultLoadExecutor.getMaximumPoolSize() != parallelism) {
+            // Resize in the order that keeps the core size within the maximum size
+            if (parallelism > defaultLoadExecutor.getMaximumPoolSize()) {
+                defaultLoadExecutor.setMaximumPoolSize(parallelism);
+                defaultLoadExecutor.setCorePoolSize(parallelism);
+            } else {
+                defaultLoadExecutor.setCorePoolSize(parallelism);
+                defaultLoadExecutor.setMaximumPoolSize(parallelism);
+            }
+        }
+        return defaultLoadExecutor;
+    }
+
+    private void loadArenasInParallel(List<A> arenas, int parallelism) {
+        Set<T> identifiers = new HashSet<>();
+        List<A> duplicatedArenas = new ArrayList<>();
+        List<A> uniqueArenas = new ArrayList<>(arenas.size());
+        for (A arena : arenas) {
+            if (containsArena(arena.getIdentifier()) || !identifiers.add(arena.getIdentifier())) {
+                duplicatedArenas.add(arena);
+            } else {
+                uniqueArenas.add(arena);
+            }
+        }
+
+        Queue<A> completedArenas = new ConcurrentLinkedQueue<>();
+        Map<A, Boolean> prepared = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>(uniqueArenas.size());
+        Executor executor = getLoadExecutor();
+        if (executor == null) {
+            executor = getDefaultLoadExecutor(parallelism);
+        }
+        for (A arena : uniqueArenas) {
+            FutureTask<Void> future = new FutureTask<>(() -> {
+                try {
+                    prepared.put(arena, prepareArena(arena));
+                } finally {
+                    completedArenas.add(arena);
+                }
+            }, null);
+            futures.add(future);
+            executor.execute(future);
+        }
+
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new IllegalStateException("Interrupted while loading the arenas", e);
+            } catch (ExecutionException e) {
+                if (failure == null) failure = e.getCause();
+            }
+        }
+
+        Set<A> loadedArenas = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (A arena : uniqueArenas) {
+            if (Boolean.TRUE.equals(prepared.get(arena)) && publishArena(arena)) {
+                loadedArenas.add(arena);
+            }
+        }
+
+        List<A> callbackArenas;
+        if (isLoadOrdered()) {
+            callbackArenas = arenas;
+        } else {
+            callbackArenas = new ArrayList<>(duplicatedArenas);
+            callbackArenas.addAll(completedArenas);
+        }
+        for (A arena : callbackArenas) {
+            if (loadedArenas.contains(arena)) {
+                onArenaSucceedToLoad(arena);
+            } else {
+                onArenaFailToLoad(arena);
+            }
+        }
+
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw new IllegalStateException(failure);
+    }
+
     /**
      * Called when the arena fails to load
      *
@@ -68,6 +343,16 @@ public abstract class LoadedArenaManager<T, A extends Arena & ManagedArena<T>> e
         // EMPTY
     }
 
+    /**
+     * Called when the arena is kept running on an incremental reload, because it is unchanged
+     *
+     * @param arena the current arena
+     * @see #isIncrementalReload()
+     */
+    public void onArenaUnchanged(A arena) {
+        // EMPTY
+    }
+
     /**
      * Called when the arena succeeds to load
      *
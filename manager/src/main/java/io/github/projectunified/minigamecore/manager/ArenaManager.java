@@ -1,9 +1,15 @@
 package io.github.projectunified.minigamecore.manager;
 
 import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.ArenaMetrics;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -14,7 +20,17 @@ import java.util.function.Function;
  * @param <A> the type of the arena
  */
 public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends FeatureUnit {
-    private final Map<T, A> arenaMap = new HashMap<>();
+    private static final int LOCK_COUNT = 64;
+    private static volatile ArenaManagerMonitor globalMonitor;
+    private final Object[] identifierLocks = new Object[LOCK_COUNT];
+    private final Map<T, A> arenaMap = createArenaMap();
+    private final Map<T, A> dormantArenaMap = new ConcurrentHashMap<>();
+    private final Set<A> hibernatedArenas = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, Queue<A>> recycledArenas = new ConcurrentHashMap<>();
+    private final AtomicInteger recycledArenaCount = new AtomicInteger();
+    private final AtomicInteger recycleGeneration = new AtomicInteger();
+    private final ArenaStateIndex<A> stateIndex = new ArenaStateIndex<>();
+    private volatile boolean arenaMetricsEnabled = false;
 
     /**
      * Create a new arena manager
@@ -23,6 +39,7 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      */
     public ArenaManager(List<FeatureUnit> parentList) {
         super(parentList);
+        initIdentifierLocks();
     }
 
     /**
@@ -32,6 +49,53 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      */
     public ArenaManager(FeatureUnit... parent) {
         super(parent);
+        initIdentifierLocks();
+    }
+
+    private void initIdentifierLocks() {
+        for (int i = 0; i < LOCK_COUNT; i++) {
+            identifierLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get the lock that guards the activation, the hibernation, the recycling and the removal of the arena of the identifier.
+     * The locks are private to the manager and shared by the identifiers of the same hash, so the arenas and their listeners never hold them.
+     *
+     * @param identifier the identifier
+     * @return the lock
+     */
+    private Object getIdentifierLock(T identifier) {
+        int hash = Objects.hashCode(identifier);
+        return identifierLocks[(hash ^ (hash >>> 16)) & (LOCK_COUNT - 1)];
+    }
+
+    /**
+     * Get the monitor that observes the operations of all arena managers
+     *
+     * @return the monitor, or null if there is no monitor
+     */
+    public static ArenaManagerMonitor getGlobalMonitor() {
+        return globalMonitor;
+    }
+
+    /**
+     * Set the monitor to observe the operations of all arena managers
+     *
+     * @param monitor the monitor, or null to remove the monitor
+     */
+    public static void setGlobalMonitor(ArenaManagerMonitor monitor) {
+        globalMonitor = monitor;
+    }
+
+    /**
+     * Create the map to store the arenas.
+     * It is called once, when the manager is created.
+     *
+     * @return the map
+     */
+    protected Map<T, A> createArenaMap() {
+        return new HashMap<>();
     }
 
     @Override
@@ -53,21 +117,221 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      * @return true if it does
      */
     public boolean containsArena(T identifier) {
-        return arenaMap.containsKey(identifier);
+        // Check the active map again, as an activation moves the arena out of the dormant map after the first check
+        return arenaMap.containsKey(identifier) || dormantArenaMap.containsKey(identifier) || arenaMap.containsKey(identifier);
     }
 
     /**
-     * Get the arena by its identifier
+     * Get the arena by its identifier.
+     * If the arena is dormant, it will be activated.
      *
      * @param identifier the identifier
      * @return the arena
+     * @see #registerArena(Arena)
      */
     public Optional<A> getArena(T identifier) {
-        return Optional.ofNullable(arenaMap.get(identifier));
+        A arena = arenaMap.get(identifier);
+        if (arena == null) {
+            if (!dormantArenaMap.isEmpty()) {
+                arena = activateArena(identifier);
+            }
+        } else {
+            touch(arena);
+        }
+        return Optional.ofNullable(arena);
+    }
+
+    private void touch(A arena) {
+        if (getMaxActiveArenas() > 0) {
+            stateIndex.touch(arena);
+        }
+    }
+
+    /**
+     * Get the arena by its identifier, without activating it if it is dormant
+     *
+     * @param identifier the identifier
+     * @return the arena, or null if there is no arena
+     */
+    protected A peekArena(T identifier) {
+        A arena = arenaMap.get(identifier);
+        return arena != null ? arena : dormantArenaMap.get(identifier);
+    }
+
+    /**
+     * Check if the arena is registered but not activated yet
+     *
+     * @param identifier the identifier
+     * @return true if it is
+     * @see #registerArena(Arena)
+     */
+    public boolean isArenaDormant(T identifier) {
+        return dormantArenaMap.containsKey(identifier);
+    }
+
+    /**
+     * Get the dormant arena map
+     *
+     * @return the dormant arena map
+     * @see #registerArena(Arena)
+     */
+    public Map<T, A> getDormantArenaMap() {
+        return Collections.unmodifiableMap(dormantArenaMap);
+    }
+
+    /**
+     * Register a dormant arena.
+     * The arena is validated, but it is initialized only when it is first got from {@link #getArena(Object)},
+     * so an arena that is never used does not start its tasks or load its features and game states.
+     * The activation is done once, even if multiple threads get the arena at the same time.
+     * Until then, the arena is not contained in {@link #getArenaMap()} and {@link #getAllArenas()}.
+     *
+     * @param arena the arena
+     * @return true if the arena is registered
+     */
+    public boolean registerArena(A arena) {
+        T identifier = arena.getIdentifier();
+        if (containsArena(identifier)) return false;
+        if (!arena.isValid()) return false;
+        return dormantArenaMap.putIfAbsent(identifier, arena) == null;
+    }
+
+    private A activateArena(T identifier) {
+        A arena = dormantArenaMap.get(identifier);
+        if (arena == null) {
+            return arenaMap.get(identifier);
+        }
+        synchronized (getIdentifierLock(identifier)) {
+            if (dormantArenaMap.get(identifier) != arena) {
+                // Activated or removed by another thread
+                return arenaMap.get(identifier);
+            }
+            // The hibernated arena is still tracked by the state that it hibernated in
+            Class<? extends GameState> hibernatedState = hibernatedArenas.contains(arena) ? stateIndex.getState(arena) : null;
+            initManagedArena(arena);
+            arena.postInit();
+            if (hibernatedState != null) {
+                // Start the state again from no state, as the hibernation cleared it
+                arena.setNextState(hibernatedState);
+            }
+            arenaMap.put(identifier, arena);
+            dormantArenaMap.remove(identifier, arena);
+            hibernatedArenas.remove(arena);
+        }
+        limitActiveArenas(arena);
+        return arena;
+    }
+
+    /**
+     * Get the states that let the arenas hibernate, including their sub-classes.
+     * An arena hibernates when it stays in one of the states for {@link #getHibernationIdleTime()},
+     * or when there are more active arenas than {@link #getMaxActiveArenas()}.
+     * A hibernated arena is cleared and kept as dormant, so it leaves {@link #getAllArenas()}, but it stays in {@link #getArenasInState(Class)}.
+     * It is activated again only when it is got from {@link #getArena(Object)},
+     * and starts the state that it hibernated in on its next tick.
+     * Default is empty, which disables the hibernation.
+     *
+     * @return the states
+     * @see #hibernateIdleArenas()
+     */
+    protected Collection<Class<? extends GameState>> getHibernationStates() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Get the time in milliseconds that an arena stays in a hibernation state before it hibernates.
+     * Default is 5 minutes.
+     *
+     * @return the time in milliseconds
+     * @see #getHibernationStates()
+     */
+    protected long getHibernationIdleTime() {
+        return TimeUnit.MINUTES.toMillis(5);
+    }
+
+    /**
+     * Get the maximum number of active arenas.
+     * When there are more active arenas, the least recently used arenas in the hibernation states hibernate.
+     * The arenas in the other states are never hibernated, so the number can be exceeded if they are not enough.
+     * Default is 0, which means no limit.
+     *
+     * @return the maximum number of active arenas
+     * @see #getHibernationStates()
+     */
+    protected int getMaxActiveArenas() {
+        return 0;
+    }
+
+    /**
+     * Hibernate the arenas that have been idle in the hibernation states for {@link #getHibernationIdleTime()}.
+     * The manager does not tick by itself, so this should be called periodically, for example by a scheduled task.
+     *
+     * @return the number of hibernated arenas
+     * @see #getHibernationStates()
+     */
+    public int hibernateIdleArenas() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(getHibernationIdleTime());
+        long now = System.nanoTime();
+        int count = 0;
+        for (Class<? extends GameState> stateClass : getHibernationStates()) {
+            for (A arena : new ArrayList<>(stateIndex.get(stateClass))) {
+                if (now - stateIndex.getStateChangedAt(arena) >= idleNanos && hibernate(arena)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Hibernate the arena, whatever its state is
+     *
+     * @param identifier the identifier
+     * @return true if the arena is hibernated, false if it is not active
+     * @see #getHibernationStates()
+     */
+    public boolean hibernateArena(T identifier) {
+        A arena = arenaMap.get(identifier);
+        return arena != null && hibernate(arena);
+    }
+
+    private boolean hibernate(A arena) {
+        T identifier = arena.getIdentifier();
+        synchronized (getIdentifierLock(identifier)) {
+            if (arenaMap.get(identifier) != arena) return false;
+            // Keep the identifier contained while the arena moves to the dormant map
+            hibernatedArenas.add(arena);
+            dormantArenaMap.put(identifier, arena);
+            arenaMap.remove(identifier, arena);
+            // Keep the arena tracked, so it is still found by its state
+            arena.clear();
+        }
+        return true;
+    }
+
+    private void limitActiveArenas(A keptArena) {
+        int maxActiveArenas = getMaxActiveArenas();
+        if (maxActiveArenas <= 0) return;
+        while (arenaMap.size() > maxActiveArenas) {
+            A leastRecentlyUsed = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Class<? extends GameState> stateClass : getHibernationStates()) {
+                for (A arena : stateIndex.get(stateClass)) {
+                    if (arena == keptArena || hibernatedArenas.contains(arena)) continue;
+                    long accessedAt = stateIndex.getAccessedAt(arena);
+                    if (accessedAt < oldestAccess) {
+                        leastRecentlyUsed = arena;
+                        oldestAccess = accessedAt;
+                    }
+                }
+            }
+            if (leastRecentlyUsed == null || !hibernate(leastRecentlyUsed)) return;
+        }
     }
 
     /**
-     * Get the arena map
+     * Get the map of the active arenas.
+     * The dormant arenas, including the hibernated ones, are not in the map.
      *
      * @return the arena map
      */
@@ -76,9 +340,11 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
     }
 
     /**
-     * Get all arenas
+     * Get all active arenas.
+     * The dormant arenas, including the hibernated ones, are not in the collection.
      *
      * @return the collection of arenas
+     * @see #getDormantArenaMap()
      */
     public Collection<A> getAllArenas() {
         return Collections.unmodifiableCollection(arenaMap.values());
@@ -90,14 +356,81 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      * @param arena the arena
      */
     public boolean addArena(A arena) {
+        ArenaManagerMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            return doAddArena(arena);
+        }
         T identifier = arena.getIdentifier();
+        monitor.begin(this, ArenaManagerOperation.ADD_ARENA, identifier);
+        try {
+            return doAddArena(arena);
+        } finally {
+            monitor.end(this, ArenaManagerOperation.ADD_ARENA, identifier);
+        }
+    }
 
-        if (arenaMap.containsKey(identifier)) return false;
+    /**
+     * Add an arena without notifying the monitor
+     *
+     * @param arena the arena
+     * @return true if the arena is added
+     * @see #addArena(Arena)
+     */
+    protected boolean doAddArena(A arena) {
+        T identifier = arena.getIdentifier();
+
+        if (containsArena(identifier)) return false;
 
         if (!arena.isValid()) return false;
-        arena.init();
+        initManagedArena(arena);
 
         arenaMap.put(identifier, arena);
+        limitActiveArenas(arena);
+        return true;
+    }
+
+    /**
+     * Validate and initialize the arena before it is added to the manager.
+     * It does not touch the arena map or the state index, so it can be called for different arenas on multiple threads,
+     * and the prepared arena is not seen by the manager until it is added by {@link #publishArena(Arena)}.
+     *
+     * @param arena the arena
+     * @return true if the arena is valid and initialized
+     * @see #publishArena(Arena)
+     */
+    public boolean prepareArena(A arena) {
+        if (!arena.isValid()) return false;
+        if (arenaMetricsEnabled) arena.enableMetrics();
+        arena.init();
+        return true;
+    }
+
+    private void initManagedArena(A arena) {
+        if (arenaMetricsEnabled) arena.enableMetrics();
+        stateIndex.track(arena);
+        try {
+            arena.init();
+        } catch (RuntimeException | Error e) {
+            stateIndex.untrack(arena);
+            throw e;
+        }
+    }
+
+    /**
+     * Add the arena prepared by {@link #prepareArena(Arena)} to the manager.
+     * If the identifier is already taken, the arena is cleared.
+     *
+     * @param arena the arena
+     * @return true if the arena is added
+     */
+    public boolean publishArena(A arena) {
+        stateIndex.track(arena);
+        if (dormantArenaMap.containsKey(arena.getIdentifier()) || arenaMap.putIfAbsent(arena.getIdentifier(), arena) != null) {
+            stateIndex.untrack(arena);
+            arena.clear();
+            return false;
+        }
+        limitActiveArenas(arena);
         return true;
     }
 
@@ -107,9 +440,50 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      * @param identifier the identifier
      */
     public void removeArena(T identifier) {
-        Arena removed = arenaMap.remove(identifier);
-        if (removed != null) {
-            removed.clear();
+        ArenaManagerMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            doRemoveArena(identifier);
+            return;
+        }
+        monitor.begin(this, ArenaManagerOperation.REMOVE_ARENA, identifier);
+        try {
+            doRemoveArena(identifier);
+        } finally {
+            monitor.end(this, ArenaManagerOperation.REMOVE_ARENA, identifier);
+        }
+    }
+
+    /**
+     * Remove an arena without notifying the monitor
+     *
+     * @param identifier the identifier
+     * @see #removeArena(Object)
+     */
+    protected void doRemoveArena(T identifier) {
+        while (true) {
+            A dormant = dormantArenaMap.get(identifier);
+            if (dormant != null) {
+                synchronized (getIdentifierLock(identifier)) {
+                    if (dormantArenaMap.remove(identifier, dormant)) {
+                        if (hibernatedArenas.remove(dormant)) {
+                            stateIndex.untrack(dormant);
+                        }
+                        return;
+                    }
+                }
+                // Activated by another thread
+                continue;
+            }
+            A removed = arenaMap.get(identifier);
+            if (removed == null) return;
+            synchronized (getIdentifierLock(identifier)) {
+                if (arenaMap.remove(identifier, removed)) {
+                    stateIndex.untrack(removed);
+                    removed.clear();
+                    return;
+                }
+            }
+            // Hibernated or replaced by another thread
         }
     }
 
@@ -117,15 +491,136 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      * Clear all arenas
      */
     public void clearAllArenas() {
-        arenaMap.values().forEach(arena -> {
-            if (arena == null) return;
+        for (Map.Entry<T, A> entry : new ArrayList<>(arenaMap.entrySet())) {
+            A arena = entry.getValue();
+            if (arenaMap.remove(entry.getKey(), arena) && arena != null) {
+                stateIndex.untrack(arena);
+                arena.clear();
+            }
+        }
+        dormantArenaMap.clear();
+        for (A arena : new ArrayList<>(hibernatedArenas)) {
+            if (hibernatedArenas.remove(arena)) {
+                stateIndex.untrack(arena);
+            }
+        }
+        clearRecycledArenas();
+    }
+
+    /**
+     * Recycle an arena.
+     * The arena is removed from the manager and suspended, instead of being cleared,
+     * then it is kept in the free list of its class and reused by the next {@link #createArena(Object, Class, Function, Consumer)} of the class for any identifier.
+     * This avoids creating and initializing a new arena for every game.
+     * The arena is added to the free list once its last tick returns, and is not ticked until it is reused.
+     * It is reset when it is reused, after its new identifier is set.
+     * If the free list has {@link #getMaxRecycledArenas()} arenas, or the free lists are cleared in the meantime, the arena is cleared instead.
+     *
+     * @param identifier the identifier
+     * @return true if the arena is removed to be recycled, false if it is not active or not recyclable
+     * @see Arena#suspend(Runnable)
+     * @see RecyclableArena
+     */
+    public boolean recycleArena(T identifier) {
+        ArenaManagerMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            return doRecycleArena(identifier);
+        }
+        monitor.begin(this, ArenaManagerOperation.RECYCLE_ARENA, identifier);
+        try {
+            return doRecycleArena(identifier);
+        } finally {
+            monitor.end(this, ArenaManagerOperation.RECYCLE_ARENA, identifier);
+        }
+    }
+
+    /**
+     * Recycle an arena without notifying the monitor
+     *
+     * @param identifier the identifier
+     * @return true if the arena is removed to be recycled
+     * @see #recycleArena(Object)
+     */
+    protected boolean doRecycleArena(T identifier) {
+        A arena = arenaMap.get(identifier);
+        if (!(arena instanceof RecyclableArena) || !((RecyclableArena<?>) arena).isRecyclable()) return false;
+        synchronized (getIdentifierLock(identifier)) {
+            if (!arenaMap.remove(identifier, arena)) return false;
+            stateIndex.untrack(arena);
+        }
+        int generation = recycleGeneration.get();
+        arena.suspend(() -> offerRecycledArena(arena, generation));
+        return true;
+    }
+
+    /**
+     * Get the maximum number of recycled arenas that are kept in the free lists.
+     * Default is 64
+     *
+     * @return the maximum number of recycled arenas
+     * @see #recycleArena(Object)
+     */
+    protected int getMaxRecycledArenas() {
+        return 64;
+    }
+
+    /**
+     * Get the number of recycled arenas in the free lists
+     *
+     * @return the number of recycled arenas
+     * @see #recycleArena(Object)
+     */
+    public int getRecycledArenaCount() {
+        return recycledArenaCount.get();
+    }
+
+    private void offerRecycledArena(A arena, int generation) {
+        if (recycleGeneration.get() != generation) {
+            arena.clear();
+            return;
+        }
+        if (recycledArenaCount.incrementAndGet() > getMaxRecycledArenas()) {
+            recycledArenaCount.decrementAndGet();
             arena.clear();
-        });
-        arenaMap.clear();
+            return;
+        }
+        Queue<A> queue = recycledArenas.computeIfAbsent(arena.getClass(), k -> new ConcurrentLinkedQueue<>());
+        queue.offer(arena);
+        // The free lists may be cleared between the check and the offer, so take the arena back if it is not drained by the clearing
+        if (recycleGeneration.get() != generation && queue.remove(arena)) {
+            recycledArenaCount.decrementAndGet();
+            arena.clear();
+        }
+    }
+
+    private A pollRecycledArena(Class<? extends A> arenaClass) {
+        if (recycledArenaCount.get() == 0) return null;
+        Queue<A> queue = recycledArenas.get(arenaClass);
+        A arena = queue == null ? null : queue.poll();
+        if (arena != null) {
+            recycledArenaCount.decrementAndGet();
+        }
+        return arena;
     }
 
     /**
-     * Create an arena
+     * Clear the recycled arenas in the free lists.
+     * The arenas that are still being recycled are cleared instead of being added to the free lists.
+     */
+    protected void clearRecycledArenas() {
+        recycleGeneration.incrementAndGet();
+        for (Queue<A> queue : recycledArenas.values()) {
+            A arena;
+            while ((arena = queue.poll()) != null) {
+                recycledArenaCount.decrementAndGet();
+                arena.clear();
+            }
+        }
+    }
+
+    /**
+     * Create an arena.
+     * It always creates a new arena, use {@link #createArena(Object, Class, Function, Consumer)} to reuse a recycled arena.
      *
      * @param identifier       the identifier
      * @param arenaCreator     the arena creator
@@ -133,6 +628,28 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      * @return the created arena
      */
     public Optional<A> createArena(T identifier, Function<T, A> arenaCreator, Consumer<A> onCreateConsumer) {
+        ArenaManagerMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            return doCreateArena(identifier, arenaCreator, onCreateConsumer);
+        }
+        monitor.begin(this, ArenaManagerOperation.CREATE_ARENA, identifier);
+        try {
+            return doCreateArena(identifier, arenaCreator, onCreateConsumer);
+        } finally {
+            monitor.end(this, ArenaManagerOperation.CREATE_ARENA, identifier);
+        }
+    }
+
+    /**
+     * Create an arena without notifying the monitor
+     *
+     * @param identifier       the identifier
+     * @param arenaCreator     the arena creator
+     * @param onCreateConsumer the consumer that will be called when the arena is created
+     * @return the created arena
+     * @see #createArena(Object, Function, Consumer)
+     */
+    protected Optional<A> doCreateArena(T identifier, Function<T, A> arenaCreator, Consumer<A> onCreateConsumer) {
         if (containsArena(identifier)) return Optional.empty();
 
         A arena = arenaCreator.apply(identifier);
@@ -146,4 +663,130 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
             return Optional.empty();
         }
     }
+
+    /**
+     * Create an arena, or reuse a recycled arena of the class.
+     * The recycled arena gets the new identifier and is reset before the consumer is called.
+     * If there is no recycled arena of the class, a new arena is created by the creator.
+     *
+     * @param identifier       the identifier
+     * @param arenaClass       the exact class of the recycled arena to reuse
+     * @param arenaCreator     the arena creator
+     * @param onCreateConsumer the consumer that will be called when the arena is created or reused
+     * @return the created arena
+     * @see #recycleArena(Object)
+     */
+    public Optional<A> createArena(T identifier, Class<? extends A> arenaClass, Function<T, A> arenaCreator, Consumer<A> onCreateConsumer) {
+        if (arenaClass == null) {
+            throw new NullPointerException("The arena class cannot be null");
+        }
+        ArenaManagerMonitor monitor = globalMonitor;
+        if (monitor == null) {
+            return doCreateArena(identifier, arenaClass, arenaCreator, onCreateConsumer);
+        }
+        monitor.begin(this, ArenaManagerOperation.CREATE_ARENA, identifier);
+        try {
+            return doCreateArena(identifier, arenaClass, arenaCreator, onCreateConsumer);
+        } finally {
+            monitor.end(this, ArenaManagerOperation.CREATE_ARENA, identifier);
+        }
+    }
+
+    /**
+     * Create an arena, or reuse a recycled arena of the class, without notifying the monitor
+     *
+     * @param identifier       the identifier
+     * @param arenaClass       the exact class of the recycled arena to reuse
+     * @param arenaCreator     the arena creator
+     * @param onCreateConsumer the consumer that will be called when the arena is created or reused
+     * @return the created arena
+     * @see #createArena(Object, Class, Function, Consumer)
+     */
+    protected Optional<A> doCreateArena(T identifier, Class<? extends A> arenaClass, Function<T, A> arenaCreator, Consumer<A> onCreateConsumer) {
+        if (containsArena(identifier)) return Optional.empty();
+
+        A recycled = pollRecycledArena(arenaClass);
+        if (recycled != null) {
+            //noinspection unchecked
+            ((RecyclableArena<T>) recycled).setIdentifier(identifier);
+            recycled.reset();
+            onCreateConsumer.accept(recycled);
+            return publishRecycledArena(recycled) ? Optional.of(recycled) : Optional.empty();
+        }
+
+        return doCreateArena(identifier, arenaCreator, onCreateConsumer);
+    }
+
+    private boolean publishRecycledArena(A arena) {
+        T identifier = arena.getIdentifier();
+        if (!arena.isValid() || containsArena(identifier)) {
+            arena.clear();
+            return false;
+        }
+        if (arenaMetricsEnabled) arena.enableMetrics();
+        stateIndex.track(arena);
+        if (dormantArenaMap.containsKey(identifier) || arenaMap.putIfAbsent(identifier, arena) != null) {
+            stateIndex.untrack(arena);
+            arena.clear();
+            return false;
+        }
+        limitActiveArenas(arena);
+        return true;
+    }
+
+    /**
+     * Get the arenas whose current state is the class, or a sub-class of it.
+     * The arenas are indexed when their states are changed, so the query does not scan all arenas.
+     * It is safe to call from any thread, and the returned collection is a read-only live view.
+     * The hibernated arenas are indexed by the state that they hibernated in, and are returned without being activated,
+     * so check {@link #isArenaDormant(Object)} and use {@link #getArena(Object)} to activate one before using it.
+     *
+     * @param stateClass the class of the game state
+     * @return the arenas
+     * @see #getHibernationStates()
+     */
+    public Collection<A> getArenasInState(Class<? extends GameState> stateClass) {
+        return stateIndex.get(stateClass);
+    }
+
+    /**
+     * Count the arenas whose current state is the class, or a sub-class of it
+     *
+     * @param stateClass the class of the game state
+     * @return the number of arenas
+     * @see #getArenasInState(Class)
+     */
+    public int countArenasInState(Class<? extends GameState> stateClass) {
+        return stateIndex.count(stateClass);
+    }
+
+    /**
+     * Enable or disable the metrics of all arenas, including the arenas added later
+     *
+     * @param enabled true to enable the metrics
+     * @see Arena#enableMetrics()
+     */
+    public void setArenaMetricsEnabled(boolean enabled) {
+        this.arenaMetricsEnabled = enabled;
+        for (A arena : arenaMap.values()) {
+            if (enabled) {
+                arena.enableMetrics();
+            } else {
+                arena.disableMetrics();
+            }
+        }
+    }
+
+    /**
+     * Get the metrics aggregated from all arenas that have the metrics enabled
+     *
+     * @return the aggregated metrics
+     */
+    public ArenaMetrics getArenaMetrics() {
+        ArenaMetrics aggregated = new ArenaMetrics();
+        for (A arena : arenaMap.values()) {
+            arena.getMetrics().ifPresent(aggregated::add);
+        }
+        return aggregated;
+    }
 }
@@ -0,0 +1,26 @@
+package io.github.projectunified.minigamecore.manager;
+
+/**
+ * The monitor that observes the operations of all {@link ArenaManager}
+ *
+ * @see ArenaManager#setGlobalMonitor(ArenaManagerMonitor)
+ */
+public interface ArenaManagerMonitor {
+    /**
+     * Called when the operation begins
+     *
+     * @param manager    the manager
+     * @param operation  the operation
+     * @param identifier the identifier of the arena, or null if the operation is {@link ArenaManagerOperation#RELOAD_ARENA}
+     */
+    void begin(ArenaManager<?, ?> manager, ArenaManagerOperation operation, Object identifier);
+
+    /**
+     * Called when the operation ends
+     *
+     * @param manager    the manager
+     * @param operation  the operation
+     * @param identifier the identifier of the arena, the same as {@link #begin(ArenaManager, ArenaManagerOperation, Object)}
+     */
+    void end(ArenaManager<?, ?> manager, ArenaManagerOperation operation, Object identifier);
+}
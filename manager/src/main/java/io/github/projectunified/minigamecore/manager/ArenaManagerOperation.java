@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.manager;
+
+/**
+ * The operations of {@link ArenaManager} that can be observed by an {@link ArenaManagerMonitor}
+ */
+public enum ArenaManagerOperation {
+    /**
+     * The call of {@link ArenaManager#addArena(io.github.projectunified.minigamecore.base.Arena)}
+     */
+    ADD_ARENA,
+    /**
+     * The call of {@link ArenaManager#removeArena(Object)}
+     */
+    REMOVE_ARENA,
+    /**
+     * The call of {@link ArenaManager#createArena(Object, java.util.function.Function, java.util.function.Consumer)}
+     */
+    CREATE_ARENA,
+    /**
+     * The call of {@link ArenaManager#recycleArena(Object)}
+     */
+    RECYCLE_ARENA,
+    /**
+     * The reload of all arenas, done by the managers that load the arenas by themselves
+     */
+    RELOAD_ARENA
+}
@@ -0,0 +1,163 @@
+package io.github.projectunified.minigamecore.manager;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.ArenaStateListener;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.base.StateKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The index of the arenas by the classes of their current states, including the super classes and interfaces.
+ * It is updated by the arenas when their states are changed, and can be read from any thread.
+ * It also records when the arenas change their states and when they are accessed, for the hibernation.
+ * The state of an arena is the one of its last state change, so a hibernated arena stays indexed by the state that it hibernated in.
+ *
+ * @param <A> the type of the arena
+ */
+final class ArenaStateIndex<A extends Arena> implements ArenaStateListener {
+    private final Map<Class<?>, Set<A>> arenasByState = new ConcurrentHashMap<>();
+    private final Map<A, Activity> activities = new ConcurrentHashMap<>();
+
+    private static List<StateKey<?>> getKeys(Class<? extends GameState> stateClass) {
+        return stateClass == null ? Collections.emptyList() : StateKey.of(stateClass).getSuperKeys();
+    }
+
+    private Set<A> getOrCreate(Class<?> stateClass) {
+        return arenasByState.computeIfAbsent(stateClass, k -> ConcurrentHashMap.newKeySet());
+    }
+
+    private void add(A arena, List<StateKey<?>> keys) {
+        for (int i = 0; i < keys.size(); i++) {
+            getOrCreate(keys.get(i).getType()).add(arena);
+        }
+    }
+
+    private void remove(A arena, List<StateKey<?>> keys, List<StateKey<?>> keptKeys) {
+        for (int i = 0; i < keys.size(); i++) {
+            StateKey<?> key = keys.get(i);
+            if (keptKeys.contains(key)) continue;
+            Set<A> arenas = arenasByState.get(key.getType());
+            if (arenas != null) {
+                arenas.remove(arena);
+            }
+        }
+    }
+
+    /**
+     * Start tracking the state of the arena.
+     * An arena that is already tracked keeps its indexed state, so a hibernated arena stays indexed while it is activated again.
+     *
+     * @param arena the arena
+     */
+    void track(A arena) {
+        Class<? extends GameState> state = arena.getCurrentState();
+        if (activities.putIfAbsent(arena, new Activity(System.nanoTime(), state)) != null) return;
+        arena.addStateListener(this);
+        add(arena, getKeys(state));
+    }
+
+    /**
+     * Stop tracking the state of the arena
+     *
+     * @param arena the arena
+     */
+    void untrack(A arena) {
+        Activity activity = activities.remove(arena);
+        arena.removeStateListener(this);
+        if (activity != null) {
+            remove(arena, getKeys(activity.state), Collections.emptyList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onStateChanged(Arena arena, Class<? extends GameState> oldState, Class<? extends GameState> newState) {
+        A trackedArena = (A) arena;
+        Activity activity = activities.get(trackedArena);
+        if (activity == null) return;
+        long now = System.nanoTime();
+        activity.stateChangedAt = now;
+        activity.accessedAt = now;
+        activity.state = newState;
+        List<StateKey<?>> newKeys = getKeys(newState);
+        add(trackedArena, newKeys);
+        remove(trackedArena, getKeys(oldState), newKeys);
+        if (activities.get(trackedArena) != activity) {
+            // The arena is untracked while the state is changing
+            remove(trackedArena, newKeys, Collections.emptyList());
+        }
+    }
+
+    Collection<A> get(Class<? extends GameState> stateClass) {
+        Set<A> arenas = arenasByState.get(stateClass);
+        return arenas == null ? Collections.emptySet() : Collections.unmodifiableSet(arenas);
+    }
+
+    int count(Class<? extends GameState> stateClass) {
+        Set<A> arenas = arenasByState.get(stateClass);
+        return arenas == null ? 0 : arenas.size();
+    }
+
+    /**
+     * Record that the arena is accessed
+     *
+     * @param arena the arena
+     */
+    void touch(A arena) {
+        Activity activity = activities.get(arena);
+        if (activity != null) {
+            activity.accessedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Get the time in nanoseconds that the arena changed its state, or started being tracked
+     *
+     * @param arena the arena
+     * @return the time, or {@link Long#MAX_VALUE} if the arena is not tracked
+     */
+    long getStateChangedAt(A arena) {
+        Activity activity = activities.get(arena);
+        return activity == null ? Long.MAX_VALUE : activity.stateChangedAt;
+    }
+
+    /**
+     * Get the time in nanoseconds that the arena was last accessed, or started being tracked
+     *
+     * @param arena the arena
+     * @return the time, or {@link Long#MAX_VALUE} if the arena is not tracked
+     */
+    long getAccessedAt(A arena) {
+        Activity activity = activities.get(arena);
+        return activity == null ? Long.MAX_VALUE : activity.accessedAt;
+    }
+
+    /**
+     * Get the state that the arena is indexed by, which is kept after the arena is cleared by the hibernation
+     *
+     * @param arena the arena
+     * @return the class of the state, or null if the arena has no state or is not tracked
+     */
+    Class<? extends GameState> getState(A arena) {
+        Activity activity = activities.get(arena);
+        return activity == null ? null : activity.state;
+    }
+
+    private static final class Activity {
+        private volatile long stateChangedAt;
+        private volatile long accessedAt;
+        private volatile Class<? extends GameState> state;
+
+        private Activity(long now, Class<? extends GameState> state) {
+            this.stateChangedAt = now;
+            this.accessedAt = now;
+            this.state = state;
+        }
+    }
+}
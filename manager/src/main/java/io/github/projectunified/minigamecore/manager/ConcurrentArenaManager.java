@@ -0,0 +1,159 @@
+package io.github.projectunified.minigamecore.manager;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.FeatureUnit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The {@link ArenaManager} that can be used by multiple threads.
+ * The arenas are stored in a {@link ConcurrentHashMap}, so the lookups do not lock and the iterations are safe while other threads add or remove the arenas.
+ * Adding, creating, registering, recycling or removing an arena reserves its identifier first, so only one thread can initialize the arena of an identifier,
+ * and a new arena of the identifier is not initialized until the removed one is cleared.
+ * The arena is not contained in the manager until it is initialized.
+ * Adding or creating fails if the identifier is reserved by another thread, while recycling and removing block until the reservation is released.
+ *
+ * @param <T> the type of the identifier of the arena
+ * @param <A> the type of the arena
+ */
+public abstract class ConcurrentArenaManager<T, A extends Arena & ManagedArena<T>> extends ArenaManager<T, A> {
+    private final Map<T, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new arena manager
+     *
+     * @param parentList the parent {@link FeatureUnit} list
+     */
+    public ConcurrentArenaManager(List<FeatureUnit> parentList) {
+        super(parentList);
+    }
+
+    /**
+     * Create a new arena manager
+     *
+     * @param parent the parent {@link FeatureUnit}
+     */
+    public ConcurrentArenaManager(FeatureUnit... parent) {
+        super(parent);
+    }
+
+    @Override
+    protected Map<T, A> createArenaMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Run the action while holding the reservation of the identifier.
+     * The reservation is reentrant, so {@link #doCreateArena(Object, Function, Consumer)} can call {@link #addArena(Arena)} in the same thread.
+     *
+     * @param identifier the identifier
+     * @param action     the action
+     * @param reserved   the result if the identifier is reserved by another thread, or null to block until the reservation is released
+     * @param <R>        the type of the result
+     * @return the result
+     */
+    private <R> R reserve(T identifier, Supplier<R> action, R reserved) {
+        Reservation reservation = new Reservation();
+        Reservation owner;
+        while ((owner = reservations.putIfAbsent(identifier, reservation)) != null) {
+            if (owner.thread == reservation.thread) {
+                return action.get();
+            }
+            if (reserved != null) {
+                return reserved;
+            }
+            owner.await();
+        }
+        try {
+            return action.get();
+        } finally {
+            reservations.remove(identifier, reservation);
+            reservation.release();
+        }
+    }
+
+    /**
+     * Check if the identifier is reserved by a thread that is adding or creating the arena
+     *
+     * @param identifier the identifier
+     * @return true if it is
+     */
+    public boolean isReserved(T identifier) {
+        return reservations.containsKey(identifier);
+    }
+
+    @Override
+    protected boolean doAddArena(A arena) {
+        return reserve(arena.getIdentifier(), () -> super.doAddArena(arena), false);
+    }
+
+    @Override
+    public boolean registerArena(A arena) {
+        return reserve(arena.getIdentifier(), () -> super.registerArena(arena), false);
+    }
+
+    @Override
+    protected boolean doRecycleArena(T identifier) {
+        return reserve(identifier, () -> super.doRecycleArena(identifier), null);
+    }
+
+    @Override
+    protected void doRemoveArena(T identifier) {
+        reserve(identifier, () -> {
+            super.doRemoveArena(identifier);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public void clearAllArenas() {
+        for (T identifier : getArenaMap().keySet()) {
+            doRemoveArena(identifier);
+        }
+        for (T identifier : getDormantArenaMap().keySet()) {
+            doRemoveArena(identifier);
+        }
+        clearRecycledArenas();
+    }
+
+    @Override
+    protected Optional<A> doCreateArena(T identifier, Function<T, A> arenaCreator, Consumer<A> onCreateConsumer) {
+        return reserve(identifier, () -> super.doCreateArena(identifier, arenaCreator, onCreateConsumer), Optional.empty());
+    }
+
+    @Override
+    protected Optional<A> doCreateArena(T identifier, Class<? extends A> arenaClass, Function<T, A> arenaCreator, Consumer<A> onCreateConsumer) {
+        return reserve(identifier, () -> super.doCreateArena(identifier, arenaClass, arenaCreator, onCreateConsumer), Optional.empty());
+    }
+
+    private static final class Reservation {
+        private final Thread thread = Thread.currentThread();
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    released.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void release() {
+            released.countDown();
+        }
+    }
+}
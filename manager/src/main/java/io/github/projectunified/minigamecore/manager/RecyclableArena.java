@@ -0,0 +1,48 @@
+package io.github.projectunified.minigamecore.manager;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.FeatureUnit;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link ManagedArena} that can be recycled by {@link ArenaManager#recycleArena(Object)} and reused for another identifier
+ *
+ * @param <T> the type of the identifier of the arena
+ */
+public interface RecyclableArena<T> extends ManagedArena<T> {
+    /**
+     * Set the identifier of the recycled arena before it is reused by {@link ArenaManager#createArena(Object, Class, Function, Consumer)}.
+     * The arena is reset right after this call, so the features can load the data of the new identifier in {@link Arena#reset()}.
+     *
+     * @param identifier the new identifier
+     */
+    void setIdentifier(T identifier);
+
+    /**
+     * Check if the arena can be recycled now.
+     * Default is true
+     *
+     * @return true if it can
+     */
+    default boolean isRecyclable() {
+        return true;
+    }
+
+    /**
+     * Convenient method. Recycle the arena in the arena manager
+     *
+     * @see ArenaManager#recycleArena(Object)
+     */
+    default void recycleFromManager() {
+        if (this instanceof Arena) {
+            Arena arena = (Arena) this;
+            FeatureUnit parentUnit = arena.getParent();
+            if (parentUnit instanceof ArenaManager) {
+                //noinspection unchecked
+                ((ArenaManager<T, ?>) parentUnit).recycleArena(getIdentifier());
+            }
+        }
+    }
+}
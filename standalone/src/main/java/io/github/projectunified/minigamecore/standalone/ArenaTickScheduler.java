@@ -0,0 +1,101 @@
+package io.github.projectunified.minigamecore.standalone;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The scheduler that ticks any number of {@link StandaloneArena} on a shared pool of worker threads.
+ */
+public class ArenaTickScheduler implements StandaloneTickScheduler {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private final ScheduledThreadPoolExecutor executor;
+    private final int threadCount;
+
+    /**
+     * Create a new scheduler
+     *
+     * @param threadCount the number of worker threads
+     * @param threadName  the prefix of the name of the worker threads
+     */
+    public ArenaTickScheduler(int threadCount, String threadName) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("The thread count must be positive");
+        }
+        this.threadCount = threadCount;
+        this.executor = new ScheduledThreadPoolExecutor(threadCount, new TickThreadFactory(threadName));
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create a new scheduler
+     *
+     * @param threadCount the number of worker threads
+     */
+    public ArenaTickScheduler(int threadCount) {
+        this(threadCount, "MinigameCore-Tick");
+    }
+
+    /**
+     * Get the default scheduler, which uses a worker thread for each available processor
+     *
+     * @return the default scheduler
+     */
+    public static ArenaTickScheduler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, long delay, long period) {
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+        }, delay, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    @Override
+    public int getActiveThreadCount() {
+        return executor.getPoolSize();
+    }
+
+    @Override
+    public int getScheduledCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class DefaultHolder {
+        private static final ArenaTickScheduler INSTANCE = new ArenaTickScheduler(Runtime.getRuntime().availableProcessors());
+    }
+
+    private static final class TickThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        private final String name;
+
+        private TickThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, name + "-" + count.incrementAndGet());
+        }
+    }
+}
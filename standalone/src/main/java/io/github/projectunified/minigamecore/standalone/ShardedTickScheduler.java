@@ -0,0 +1,363 @@
+package io.github.projectunified.minigamecore.standalone;
+
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * The {@link StandaloneTickScheduler} that partitions the tasks across shards, each of which has a single worker thread.
+ * The shard of a task is chosen by a stable hash of its key, which is the identifier of a {@link ManagedArena},
+ * so an arena always ticks on the same thread and its data stays in the cache of that thread without locking.
+ * When the arenas are added or removed, the shards can be rebalanced by moving some tasks from the fullest shards to the emptiest ones.
+ * A task is moved between two of its runs, so it never runs on two threads at the same time.
+ */
+public class ShardedTickScheduler implements StandaloneTickScheduler {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private final Shard[] shards;
+    private volatile int rebalanceThreshold = 0;
+
+    /**
+     * Create a new scheduler
+     *
+     * @param shardCount the number of shards, which is the number of worker threads
+     * @param threadName the prefix of the name of the worker threads
+     */
+    public ShardedTickScheduler(int shardCount, String threadName) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The shard count must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(threadName + "-" + (i + 1));
+        }
+    }
+
+    /**
+     * Create a new scheduler
+     *
+     * @param shardCount the number of shards, which is the number of worker threads
+     */
+    public ShardedTickScheduler(int shardCount) {
+        this(shardCount, "MinigameCore-Shard");
+    }
+
+    /**
+     * Get the key to choose the shard of the task.
+     * Default is the identifier if the task is a {@link ManagedArena}, or the task itself.
+     *
+     * @param task the task
+     * @return the key
+     */
+    protected Object getShardKey(Runnable task) {
+        if (task instanceof ManagedArena) {
+            Object identifier = ((ManagedArena<?>) task).getIdentifier();
+            if (identifier != null) {
+                return identifier;
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Get the shard that the key is hashed to
+     *
+     * @param key the key
+     * @return the index of the shard
+     */
+    public int getHomeShard(Object key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, long delay, long period) {
+        Shard shard = shards[getHomeShard(getShardKey(task))];
+        ShardedTask shardedTask = new ShardedTask(task, period);
+        synchronized (shardedTask) {
+            shardedTask.shard = shard;
+            shardedTask.scheduledShard = shard;
+            shard.tasks.add(shardedTask);
+            shardedTask.future = shard.executor.scheduleWithFixedDelay(shardedTask, delay, period, TimeUnit.MILLISECONDS);
+        }
+        rebalanceIfNeeded();
+        return shardedTask;
+    }
+
+    /**
+     * Set the difference of the task counts between the fullest and the emptiest shard that triggers {@link #rebalance()} when a task is added or removed.
+     * Default is 0, which disables the automatic rebalance.
+     *
+     * @param rebalanceThreshold the threshold
+     */
+    public void setRebalanceThreshold(int rebalanceThreshold) {
+        this.rebalanceThreshold = Math.max(0, rebalanceThreshold);
+    }
+
+    /**
+     * Get the threshold of the automatic rebalance
+     *
+     * @return the threshold, or 0 if it is disabled
+     * @see #setRebalanceThreshold(int)
+     */
+    public int getRebalanceThreshold() {
+        return rebalanceThreshold;
+    }
+
+    private void rebalanceIfNeeded() {
+        int threshold = rebalanceThreshold;
+        if (threshold <= 0) return;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (Shard shard : shards) {
+            int size = shard.tasks.size();
+            min = Math.min(min, size);
+            max = Math.max(max, size);
+        }
+        if (max - min > threshold) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Move the tasks from the fullest shards to the emptiest ones, until their task counts differ by at most one.
+     * The moved tasks no longer run on their home shards, until they are scheduled again.
+     *
+     * @return the number of the moved tasks
+     */
+    public int rebalance() {
+        int moved = 0;
+        synchronized (shards) {
+            while (true) {
+                Shard fullest = shards[0];
+                Shard emptiest = shards[0];
+                for (Shard shard : shards) {
+                    if (shard.tasks.size() > fullest.tasks.size()) fullest = shard;
+                    if (shard.tasks.size() < emptiest.tasks.size()) emptiest = shard;
+                }
+                if (fullest.tasks.size() - emptiest.tasks.size() <= 1) break;
+                Iterator<ShardedTask> iterator = fullest.tasks.iterator();
+                if (!iterator.hasNext()) break;
+                if (iterator.next().moveTo(emptiest)) {
+                    moved++;
+                }
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Get the number of shards
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Get the shard that runs the task
+     *
+     * @param future the task returned by {@link #schedule(Runnable, long, long)}
+     * @return the index of the shard, or -1 if the task is not scheduled by this scheduler or is cancelled
+     */
+    public int getShard(ScheduledFuture<?> future) {
+        if (!(future instanceof ShardedTask)) return -1;
+        ShardedTask task = (ShardedTask) future;
+        if (task.cancelled) return -1;
+        Shard shard = task.shard;
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == shard) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the number of tasks in the shard
+     *
+     * @param shard the index of the shard
+     * @return the number of tasks
+     */
+    public int getShardTaskCount(int shard) {
+        return shards[shard].tasks.size();
+    }
+
+    /**
+     * Get the number of runs of the tasks in the shard
+     *
+     * @param shard the index of the shard
+     * @return the number of runs
+     */
+    public long getShardRunCount(int shard) {
+        return shards[shard].runCount;
+    }
+
+    /**
+     * Get the time that the worker thread of the shard has spent running the tasks.
+     * Compare two samples with the elapsed time between them to get the load of the shard.
+     *
+     * @param shard the index of the shard
+     * @param unit  the time unit of the result
+     * @return the busy time
+     */
+    public long getShardBusyTime(int shard, TimeUnit unit) {
+        return unit.convert(shards[shard].busyTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int getThreadCount() {
+        return shards.length;
+    }
+
+    @Override
+    public int getActiveThreadCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.executor.getPoolSize();
+        }
+        return count;
+    }
+
+    @Override
+    public int getScheduledCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.executor.getQueue().size();
+        }
+        return count;
+    }
+
+    @Override
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.executor.shutdownNow();
+        }
+    }
+
+    private static final class Shard {
+        private final ScheduledThreadPoolExecutor executor;
+        private final Set<ShardedTask> tasks = ConcurrentHashMap.newKeySet();
+        private volatile long runCount = 0;
+        private volatile long busyTime = 0;
+
+        private Shard(String threadName) {
+            this.executor = new ScheduledThreadPoolExecutor(1, runnable -> new Thread(runnable, threadName));
+            this.executor.setRemoveOnCancelPolicy(true);
+            this.executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    private final class ShardedTask implements Runnable, ScheduledFuture<Object> {
+        private final Runnable task;
+        private final long period;
+        /**
+         * The shard that the task belongs to
+         */
+        private volatile Shard shard;
+        /**
+         * The shard that the task is currently scheduled on, which lags behind {@link #shard} until the task is moved
+         */
+        private volatile Shard scheduledShard;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+
+        private ShardedTask(Runnable task, long period) {
+            this.task = task;
+            this.period = period;
+        }
+
+        @Override
+        public void run() {
+            // Only written by the worker thread of the scheduled shard, which is the current thread
+            Shard current = scheduledShard;
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            } finally {
+                current.busyTime += System.nanoTime() - start;
+                current.runCount++;
+            }
+        }
+
+        private synchronized boolean moveTo(Shard target) {
+            if (cancelled || shard == target) return false;
+            shard.tasks.remove(this);
+            target.tasks.add(this);
+            shard = target;
+            Shard source = scheduledShard;
+            // Reschedule on the thread of the source, so the task is not running while it is moved
+            source.executor.execute(() -> relocate(source));
+            return true;
+        }
+
+        private synchronized void relocate(Shard source) {
+            if (cancelled || scheduledShard != source || shard == source) return;
+            long delay = Math.max(0, future.getDelay(TimeUnit.MILLISECONDS));
+            future.cancel(false);
+            scheduledShard = shard;
+            future = shard.executor.scheduleWithFixedDelay(this, delay, period, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (this) {
+                if (cancelled) return false;
+                cancelled = true;
+                shard.tasks.remove(this);
+                future.cancel(mayInterruptIfRunning);
+            }
+            rebalanceIfNeeded();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled || future.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            while (true) {
+                ScheduledFuture<?> current = future;
+                try {
+                    return current.get();
+                } catch (CancellationException e) {
+                    // The future of a moved task is cancelled, so wait for the new one
+                    if (cancelled || current == future) throw e;
+                }
+            }
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            while (true) {
+                ScheduledFuture<?> current = future;
+                try {
+                    return current.get(timeout, unit);
+                } catch (CancellationException e) {
+                    if (cancelled || current == future) throw e;
+                }
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return future.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -2,18 +2,23 @@ package io.github.projectunified.minigamecore.standalone;
 
 import io.github.projectunified.minigamecore.base.Arena;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
 import io.github.projectunified.minigamecore.extra.TimePeriod;
 
 import java.util.List;
 import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 
 /**
- * The standalone {@link Arena}
+ * The standalone {@link Arena}.
+ * The arena is ticked by the {@link StandaloneTickScheduler} from {@link #getTickScheduler()}.
+ * {@link #getPeriod()} and {@link #getDelay()} will return the time in milliseconds.
+ * The arena is rescheduled with the preferred period of the state, see {@link GameState#getPeriod(Arena)}.
  */
 public abstract class StandaloneArena extends Arena implements TimePeriod {
-    private final Timer timer = new Timer();
-    private TimerTask timerTask;
+    private Timer timer;
+    private volatile ScheduledFuture<?> tickTask;
+    private volatile long tickPeriod;
 
     /**
      * Create a new arena
@@ -33,21 +38,59 @@ public abstract class StandaloneArena extends Arena implements TimePeriod {
         super(parent);
     }
 
+    /**
+     * Get the scheduler to tick the arena.
+     * Return a {@link ShardedTickScheduler} to always tick the arena on the same thread.
+     * Default is {@link ArenaTickScheduler#getDefault()}
+     *
+     * @return the scheduler
+     */
+    protected StandaloneTickScheduler getTickScheduler() {
+        return ArenaTickScheduler.getDefault();
+    }
+
     @Override
     protected void initArena() {
-        this.timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                StandaloneArena.this.run();
-            }
-        };
-        this.timer.schedule(timerTask, this.getDelay(), this.getPeriod());
+        this.tickPeriod = getPeriod();
+        this.tickTask = getTickScheduler().schedule(this, getDelay(), tickPeriod);
     }
 
     @Override
     protected void clearArena() {
-        if (this.timerTask != null) {
-            this.timerTask.cancel();
+        cancelTickTask();
+    }
+
+    @Override
+    protected void suspendArena() {
+        cancelTickTask();
+    }
+
+    @Override
+    protected void wakeArena() {
+        // Use the period of the pending state, as the arena is woken to change to it
+        this.tickPeriod = getStatePeriod(getNextStateInstance().orElseGet(() -> getCurrentStateInstance().orElse(null)));
+        this.tickTask = getTickScheduler().schedule(this, 0, tickPeriod);
+    }
+
+    @Override
+    protected void changeStateArena(GameState state) {
+        long period = getStatePeriod(state);
+        if (period == tickPeriod) return;
+        cancelTickTask();
+        this.tickPeriod = period;
+        this.tickTask = getTickScheduler().schedule(this, period, period);
+    }
+
+    private long getStatePeriod(GameState state) {
+        long period = state != null ? state.getPeriod(this) : 0;
+        return period > 0 ? period : getPeriod();
+    }
+
+    private void cancelTickTask() {
+        ScheduledFuture<?> task = this.tickTask;
+        if (task != null) {
+            task.cancel(false);
+            this.tickTask = null;
         }
     }
 
@@ -55,8 +98,13 @@ public abstract class StandaloneArena extends Arena implements TimePeriod {
      * Get the timer
      *
      * @return the timer
+     * @deprecated the arena is no longer ticked by its own {@link Timer}, use {@link #getTickScheduler()} instead
      */
-    public Timer getTimer() {
+    @Deprecated
+    public synchronized Timer getTimer() {
+        if (this.timer == null) {
+            this.timer = new Timer();
+        }
         return this.timer;
     }
 }
@@ -0,0 +1,72 @@
+package io.github.projectunified.minigamecore.standalone;
+
+import io.github.projectunified.minigamecore.extra.TimePeriod;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * The scheduler that ticks the {@link StandaloneArena}, on threads of its own.
+ * The delay and the period of the tasks are in milliseconds, the same as {@link java.util.Timer}.
+ *
+ * @see ArenaTickScheduler
+ * @see ShardedTickScheduler
+ */
+public interface StandaloneTickScheduler {
+    /**
+     * Schedule a repeating task.
+     * The throwables of a run are reported to the uncaught exception handler of the worker thread, and do not cancel the next runs.
+     *
+     * @param task   the task
+     * @param delay  the delay before the first run in milliseconds
+     * @param period the period between the end of a run and the start of the next one in milliseconds
+     * @return the scheduled task
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delay, long period);
+
+    /**
+     * Schedule a repeating task with the time period
+     *
+     * @param task       the task
+     * @param timePeriod the time period
+     * @return the scheduled task
+     */
+    default ScheduledFuture<?> schedule(Runnable task, TimePeriod timePeriod) {
+        return schedule(task, timePeriod.getDelay(), timePeriod.getPeriod());
+    }
+
+    /**
+     * Schedule the arena with its own time period
+     *
+     * @param arena the arena
+     * @return the scheduled task
+     */
+    default ScheduledFuture<?> schedule(StandaloneArena arena) {
+        return schedule(arena, arena);
+    }
+
+    /**
+     * Get the maximum number of worker threads
+     *
+     * @return the number of worker threads
+     */
+    int getThreadCount();
+
+    /**
+     * Get the number of worker threads that are currently alive
+     *
+     * @return the number of worker threads
+     */
+    int getActiveThreadCount();
+
+    /**
+     * Get the number of scheduled tasks
+     *
+     * @return the number of scheduled tasks
+     */
+    int getScheduledCount();
+
+    /**
+     * Shutdown the scheduler. All scheduled tasks will be cancelled.
+     */
+    void shutdown();
+}